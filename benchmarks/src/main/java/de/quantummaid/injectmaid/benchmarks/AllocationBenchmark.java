@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.benchmarks;
+
+import de.quantummaid.injectmaid.InjectMaid;
+import de.quantummaid.injectmaid.InjectMaidBuilder;
+import de.quantummaid.injectmaid.testsupport.SyntheticGraph;
+import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static de.quantummaid.injectmaid.api.ReusePolicy.PROTOTYPE;
+
+/**
+ * Allocation profile of resolving a 20 node prototype graph. Run with
+ * {@code java -jar benchmarks.jar AllocationBenchmark -prof gc} and compare the {@code gc.alloc.rate.norm}
+ * (bytes/op) of {@link #getInstance()} against {@link #baseline()}, which creates the same nodes and
+ * argument arrays by hand.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AllocationBenchmark {
+    private static final int NODES = 20;
+    private static final Object[] NO_CHILDREN = new Object[0];
+
+    private InjectMaid injectMaid;
+    private TypeIdentifier root;
+
+    @Setup
+    public void setup() {
+        final InjectMaidBuilder builder = InjectMaid.anInjectMaid();
+        root = SyntheticGraph.registerBinaryTree(builder, NODES, PROTOTYPE);
+        injectMaid = builder.build();
+    }
+
+    @Benchmark
+    public SyntheticGraph.Node baseline() {
+        return node(0);
+    }
+
+    @Benchmark
+    public SyntheticGraph.Node getInstance() {
+        return injectMaid.getInstance(root);
+    }
+
+    @Benchmark
+    public Object getInstanceWithInitializationTime() {
+        return injectMaid.getInstanceWithInitializationTime(root, root);
+    }
+
+    private static SyntheticGraph.Node node(final int index) {
+        final int left = 2 * index + 1;
+        final int right = 2 * index + 2;
+        if (left >= NODES) {
+            return new SyntheticGraph.Node(NO_CHILDREN);
+        }
+        if (right >= NODES) {
+            return new SyntheticGraph.Node(new Object[]{node(left)});
+        }
+        return new SyntheticGraph.Node(new Object[]{node(left), node(right)});
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.benchmarks;
+
+import de.quantummaid.injectmaid.InjectMaid;
+import de.quantummaid.injectmaid.InjectMaidBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static de.quantummaid.injectmaid.InjectMaid.anInjectMaid;
+import static de.quantummaid.injectmaid.benchmarks.SyntheticClasses.compileBinaryTree;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BuildBenchmark {
+
+    @Param({"1000", "5000", "20000"})
+    private int types;
+
+    private List<Class<?>> classes;
+
+    @Setup
+    public void setup() {
+        classes = compileBinaryTree(types);
+    }
+
+    @Benchmark
+    public InjectMaid sequentialBuild() {
+        return register(anInjectMaid()).build();
+    }
+
+    @Benchmark
+    public InjectMaid parallelBuild() {
+        return register(anInjectMaid())
+                .buildingInParallel()
+                .build();
+    }
+
+    private InjectMaidBuilder register(final InjectMaidBuilder builder) {
+        classes.forEach(builder::withType);
+        return builder;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.benchmarks;
+
+import de.quantummaid.injectmaid.Definitions;
+import de.quantummaid.injectmaid.testsupport.SyntheticGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static de.quantummaid.injectmaid.circledetector.CircularDependencyDetector.validateNoCircularDependencies;
+import static de.quantummaid.reflectmaid.typescanner.scopes.Scope.rootScope;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CircularDependencyBenchmark {
+
+    @Param({"1000", "10000"})
+    private int nodes;
+
+    private Definitions definitions;
+
+    @Setup
+    public void setup() {
+        final de.quantummaid.reflectmaid.typescanner.scopes.Scope root = rootScope();
+        definitions = Definitions.definitions(List.of(root), SyntheticGraph.ladder(nodes / 2, root));
+    }
+
+    @Benchmark
+    public Definitions validateDiamondLadder() {
+        validateNoCircularDependencies(definitions);
+        return definitions;
+    }
+}
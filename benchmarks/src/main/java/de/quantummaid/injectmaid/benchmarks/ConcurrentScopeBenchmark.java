@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.benchmarks;
+
+import de.quantummaid.injectmaid.InjectMaid;
+import de.quantummaid.injectmaid.InjectMaidBuilder;
+import de.quantummaid.injectmaid.testsupport.SyntheticGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+
+import static de.quantummaid.injectmaid.InjectMaid.anInjectMaid;
+import static de.quantummaid.injectmaid.api.CurrentInjector.callInScope;
+import static de.quantummaid.injectmaid.api.CurrentInjector.currentInjector;
+import static de.quantummaid.injectmaid.api.ReusePolicy.DEFAULT_SINGLETON;
+import static de.quantummaid.injectmaid.api.ReusePolicy.PROTOTYPE;
+
+/**
+ * Enters 100k request scopes concurrently, each on its own task, with a handler whose factory blocks briefly.
+ * The virtual thread executor is looked up reflectively so the benchmarks still compile for Java 11;
+ * on older runtimes only the platform thread pool variant can run.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentScopeBenchmark {
+    private static final int ROOT_TYPES = 1_000;
+    private static final int SCOPES = 100_000;
+    private static final long BLOCKING_FACTORY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Param({"virtual", "platform"})
+    private String threads;
+
+    private InjectMaid injectMaid;
+    private ExecutorService executorService;
+
+    @Setup
+    public void setup() {
+        final InjectMaidBuilder builder = anInjectMaid();
+        SyntheticGraph.registerBinaryTree(builder, ROOT_TYPES, DEFAULT_SINGLETON);
+        builder.withScope(Request.class, scope -> scope
+                .withCustomType(Handler.class, Request.class, request -> {
+                    LockSupport.parkNanos(BLOCKING_FACTORY_NANOS);
+                    return new Handler(request);
+                }, PROTOTYPE));
+        injectMaid = builder.build();
+        if ("virtual".equals(threads)) {
+            executorService = virtualThreadPerTaskExecutor();
+        } else {
+            executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 4);
+        }
+    }
+
+    private static ExecutorService virtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) MethodHandles.publicLookup()
+                    .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class))
+                    .invoke();
+        } catch (final Throwable e) {
+            throw new IllegalStateException("virtual threads are not available on this runtime", e);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Benchmark
+    public int enterConcurrentScopes() throws Exception {
+        final List<Future<Handler>> handlers = new ArrayList<>(SCOPES);
+        for (int i = 0; i < SCOPES; ++i) {
+            final Request request = new Request();
+            handlers.add(executorService.submit(() -> callInScope(injectMaid, Request.class, request,
+                    () -> currentInjector().getInstance(Handler.class))));
+        }
+        int completed = 0;
+        for (final Future<Handler> handler : handlers) {
+            if (handler.get() != null) {
+                ++completed;
+            }
+        }
+        return completed;
+    }
+
+    public static final class Request {
+    }
+
+    public static final class Handler {
+        private final Request request;
+
+        public Handler(final Request request) {
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.benchmarks;
+
+import de.quantummaid.injectmaid.Definition;
+import de.quantummaid.injectmaid.Definitions;
+import de.quantummaid.injectmaid.ResolutionTable;
+import de.quantummaid.injectmaid.instantiator.Instantiator;
+import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
+import de.quantummaid.reflectmaid.typescanner.scopes.Scope;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static de.quantummaid.injectmaid.Definition.definition;
+import static de.quantummaid.injectmaid.api.ReusePolicy.PROTOTYPE;
+import static de.quantummaid.injectmaid.testsupport.SyntheticGraph.nodeInstantiator;
+import static de.quantummaid.reflectmaid.typescanner.TypeIdentifier.uniqueVirtualTypeIdentifier;
+import static de.quantummaid.reflectmaid.typescanner.scopes.Scope.rootScope;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.groupingBy;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+public class DefinitionLookupBenchmark {
+
+    @Param({"1000", "10000"})
+    public int registeredTypes;
+
+    private Map<TypeIdentifier, List<Definition>> legacyDefinitions;
+    private ResolutionTable resolutionTable;
+    private Scope requestScope;
+    private TypeIdentifier[] lookupOrder;
+    private int index;
+
+    @Setup
+    public void setup() {
+        final Scope root = rootScope();
+        requestScope = root.childScope(uniqueVirtualTypeIdentifier());
+        final List<Definition> definitionList = new ArrayList<>(registeredTypes * 2);
+        final List<TypeIdentifier> types = new ArrayList<>(registeredTypes);
+        final Instantiator instantiator = nodeInstantiator(List.of());
+        for (int i = 0; i < registeredTypes; ++i) {
+            final TypeIdentifier type = uniqueVirtualTypeIdentifier();
+            types.add(type);
+            definitionList.add(definition(type, root, instantiator, PROTOTYPE));
+            if (i % 2 == 0) {
+                definitionList.add(definition(type, requestScope, instantiator, PROTOTYPE));
+            }
+        }
+        legacyDefinitions = definitionList.stream()
+                .collect(groupingBy(Definition::type));
+        final Definitions definitions = Definitions.definitions(List.of(root, requestScope), definitionList);
+        resolutionTable = definitions.resolutionTable(requestScope);
+        Collections.shuffle(types, new Random(42));
+        lookupOrder = types.toArray(new TypeIdentifier[0]);
+    }
+
+    @Benchmark
+    public Definition legacyStreamLookup() {
+        final TypeIdentifier type = nextType();
+        return legacyDefinitions.get(type).stream()
+                .filter(definition -> definition.scope().contains(requestScope))
+                .max(comparing(definition -> definition.scope().size()))
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public Definition resolutionTableLookup() {
+        final TypeIdentifier type = nextType();
+        return resolutionTable.definitionFor(type);
+    }
+
+    private TypeIdentifier nextType() {
+        final TypeIdentifier type = lookupOrder[index];
+        index = (index + 1) % lookupOrder.length;
+        return type;
+    }
+}
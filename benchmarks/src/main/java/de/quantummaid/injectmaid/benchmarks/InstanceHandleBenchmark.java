@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.benchmarks;
+
+import de.quantummaid.injectmaid.InjectMaid;
+import de.quantummaid.injectmaid.InstanceHandle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static de.quantummaid.injectmaid.InjectMaid.anInjectMaid;
+import static de.quantummaid.injectmaid.api.ReusePolicy.DEFAULT_SINGLETON;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InstanceHandleBenchmark {
+
+    private InjectMaid injectMaid;
+    private InstanceHandle<Handler> handle;
+
+    @Setup
+    public void setup() {
+        injectMaid = anInjectMaid()
+                .withType(Handler.class, DEFAULT_SINGLETON)
+                .build();
+        handle = injectMaid.handle(Handler.class);
+    }
+
+    @Benchmark
+    public Handler getInstanceByClass() {
+        return injectMaid.getInstance(Handler.class);
+    }
+
+    @Benchmark
+    public Handler getInstanceByHandle() {
+        return handle.get(injectMaid);
+    }
+
+    public static final class Handler {
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.benchmarks;
+
+import de.quantummaid.injectmaid.InjectMaid;
+import de.quantummaid.injectmaid.InjectMaidBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static de.quantummaid.injectmaid.InjectMaid.anInjectMaid;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InstantiatorBackendBenchmark {
+
+    private InjectMaid reflective;
+    private InjectMaid generated;
+
+    @Setup
+    public void setup() {
+        reflective = register(anInjectMaid()).build();
+        generated = register(anInjectMaid()).usingGeneratedInstantiators().build();
+    }
+
+    @Benchmark
+    public Root reflectiveInstantiators() {
+        return reflective.getInstance(Root.class);
+    }
+
+    @Benchmark
+    public Root generatedInstantiators() {
+        return generated.getInstance(Root.class);
+    }
+
+    private static InjectMaidBuilder register(final InjectMaidBuilder builder) {
+        return builder
+                .withType(Leaf.class)
+                .withType(Branch.class)
+                .withType(Root.class);
+    }
+
+    public static final class Leaf {
+    }
+
+    public static final class Branch {
+        private final Leaf left;
+        private final Leaf right;
+
+        public Branch(final Leaf left, final Leaf right) {
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    public static final class Root {
+        private final Branch left;
+        private final Branch right;
+        private final Leaf leaf;
+
+        private Root(final Branch left, final Branch right, final Leaf leaf) {
+            this.left = left;
+            this.right = right;
+            this.leaf = leaf;
+        }
+
+        public static Root root(final Branch left, final Branch right, final Leaf leaf) {
+            return new Root(left, right, leaf);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.benchmarks;
+
+import de.quantummaid.injectmaid.InjectMaid;
+import de.quantummaid.injectmaid.InjectMaidBuilder;
+import de.quantummaid.injectmaid.api.Injector;
+import de.quantummaid.injectmaid.testsupport.SyntheticGraph;
+import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static de.quantummaid.injectmaid.InjectMaid.anInjectMaid;
+import static de.quantummaid.injectmaid.api.ReusePolicy.DEFAULT_SINGLETON;
+import static de.quantummaid.injectmaid.api.ReusePolicy.PROTOTYPE;
+import static de.quantummaid.reflectmaid.GenericType.genericType;
+import static de.quantummaid.reflectmaid.typescanner.TypeIdentifier.typeIdentifierFor;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScopeEntryBenchmark {
+    private static final int ROOT_TYPES = 1_000;
+
+    @Param({"false", "true"})
+    private boolean lifecycleManagement;
+
+    private InjectMaid injectMaid;
+    private TypeIdentifier requestType;
+    private TypeIdentifier handlerType;
+    private final Request request = new Request();
+
+    @Setup
+    public void setup() {
+        final InjectMaidBuilder builder = anInjectMaid();
+        SyntheticGraph.registerBinaryTree(builder, ROOT_TYPES, DEFAULT_SINGLETON);
+        builder.withScope(Request.class, scope -> scope
+                .withCustomType(Handler.class, Request.class, Handler::new, PROTOTYPE));
+        if (lifecycleManagement) {
+            builder.withLifecycleManagement();
+        }
+        injectMaid = builder.build();
+        requestType = typeIdentifierFor(injectMaid.reflectMaid().resolve(genericType(Request.class)));
+        handlerType = typeIdentifierFor(injectMaid.reflectMaid().resolve(genericType(Handler.class)));
+    }
+
+    @Benchmark
+    public Injector enterAndClose() {
+        final Injector scoped = injectMaid.enterScope(requestType, request);
+        scoped.close();
+        return scoped;
+    }
+
+    @Benchmark
+    public Handler enterGetInstanceAndClose() {
+        final Injector scoped = injectMaid.enterScope(requestType, request);
+        final Handler handler = scoped.getInstance(handlerType);
+        scoped.close();
+        return handler;
+    }
+
+    public static final class Request {
+    }
+
+    public static final class Handler {
+        private final Request request;
+
+        public Handler(final Request request) {
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.benchmarks;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compiles a binary tree of real classes with public constructors, so that builds
+ * exercise the reflective detection of every type.
+ */
+final class SyntheticClasses {
+    private static final String PACKAGE = "de.quantummaid.injectmaid.benchmarks.generated";
+    private static final int CLASSES_PER_FILE = 500;
+
+    private SyntheticClasses() {
+    }
+
+    static List<Class<?>> compileBinaryTree(final int nodes) {
+        try {
+            final Path directory = Files.createTempDirectory("injectmaid-synthetic-classes");
+            final Path packageDirectory = Files.createDirectories(directory.resolve(PACKAGE.replace('.', '/')));
+            final List<String> sourceFiles = new ArrayList<>();
+            for (int file = 0; file * CLASSES_PER_FILE < nodes; ++file) {
+                final Path sourceFile = packageDirectory.resolve(fileName(file) + ".java");
+                Files.writeString(sourceFile, source(file, nodes), UTF_8);
+                sourceFiles.add(sourceFile.toString());
+            }
+            final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            final List<String> arguments = new ArrayList<>(List.of("-nowarn", "-d", directory.toString()));
+            arguments.addAll(sourceFiles);
+            if (compiler.run(null, null, null, arguments.toArray(String[]::new)) != 0) {
+                throw new IllegalStateException("unable to compile synthetic classes");
+            }
+            final URLClassLoader classLoader = new URLClassLoader(
+                    new URL[]{directory.toUri().toURL()}, SyntheticClasses.class.getClassLoader());
+            final List<Class<?>> classes = new ArrayList<>(nodes);
+            for (int node = 0; node < nodes; ++node) {
+                classes.add(classLoader.loadClass(PACKAGE + "." + fileName(node / CLASSES_PER_FILE) + "$" + className(node)));
+            }
+            return classes;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (final ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String source(final int file, final int nodes) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("package ").append(PACKAGE).append(";\n\n");
+        builder.append("public final class ").append(fileName(file)).append(" {\n");
+        final int end = Math.min(nodes, (file + 1) * CLASSES_PER_FILE);
+        for (int node = file * CLASSES_PER_FILE; node < end; ++node) {
+            final List<String> parameters = new ArrayList<>(2);
+            final int left = 2 * node + 1;
+            final int right = 2 * node + 2;
+            if (left < nodes) {
+                parameters.add(qualifiedName(left) + " left");
+            }
+            if (right < nodes) {
+                parameters.add(qualifiedName(right) + " right");
+            }
+            builder.append("    public static final class ").append(className(node)).append(" {\n")
+                    .append("        public ").append(className(node)).append("(")
+                    .append(String.join(", ", parameters)).append(") {\n")
+                    .append("        }\n")
+                    .append("    }\n");
+        }
+        return builder.append("}\n").toString();
+    }
+
+    private static String qualifiedName(final int node) {
+        return fileName(node / CLASSES_PER_FILE) + "." + className(node);
+    }
+
+    private static String fileName(final int file) {
+        return "Synthetic" + file;
+    }
+
+    private static String className(final int node) {
+        return "Node" + node;
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid;
+
+import de.quantummaid.injectmaid.api.ScopeLeakListener;
+import de.quantummaid.injectmaid.lifecyclemanagement.ExceptionDuringClose;
+import de.quantummaid.injectmaid.lifecyclemanagement.LifecycleManager;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class ChildScopes {
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private static final AtomicLongFieldUpdater<ChildScopes> SEQUENCE =
+            AtomicLongFieldUpdater.newUpdater(ChildScopes.class, "sequence");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ChildScopes, ConcurrentHashMap> CHILDREN =
+            AtomicReferenceFieldUpdater.newUpdater(ChildScopes.class, ConcurrentHashMap.class, "children");
+
+    private final ScopeLeakListener leakListener;
+    private volatile long sequence;
+    private volatile ConcurrentHashMap<Long, ChildScope> children;
+
+    static ChildScopes childScopes() {
+        return new ChildScopes(null);
+    }
+
+    static ChildScopes weaklyTrackedChildScopes(final ScopeLeakListener leakListener) {
+        return new ChildScopes(leakListener);
+    }
+
+    ChildScopes forChild() {
+        return new ChildScopes(leakListener);
+    }
+
+    boolean tracksLeaks() {
+        return leakListener != null;
+    }
+
+    long nextId() {
+        return SEQUENCE.incrementAndGet(this);
+    }
+
+    private Map<Long, ChildScope> children() {
+        final ConcurrentHashMap<Long, ChildScope> current = children;
+        if (current != null) {
+            return current;
+        }
+        CHILDREN.compareAndSet(this, null, new ConcurrentHashMap<Long, ChildScope>());
+        return children;
+    }
+
+    void register(final long id,
+                  final InjectMaid child,
+                  final String scopeDescription,
+                  final ChildScopes grandChildren,
+                  final LifecycleManager lifecycleManager) {
+        if (leakListener == null) {
+            children().put(id, new StrongChildScope(child, scopeDescription));
+            return;
+        }
+        final LeakedScopeCleanup cleanup = new LeakedScopeCleanup(
+                this, id, scopeDescription, grandChildren, lifecycleManager, leakListener);
+        final Cleaner.Cleanable cleanable = CLEANER.register(child, cleanup);
+        children().put(id, new WeakChildScope(new WeakReference<>(child), cleanup, cleanable));
+    }
+
+    void deregister(final long id) {
+        final ChildScope childScope = remove(id);
+        if (childScope != null) {
+            childScope.markClosed();
+        }
+    }
+
+    private ChildScope remove(final long id) {
+        final Map<Long, ChildScope> current = children;
+        if (current == null) {
+            return null;
+        }
+        return current.remove(id);
+    }
+
+    /**
+     * Sibling scopes do not depend on each other, so the lifecycle manager may close them in parallel.
+     * All of them share the deadline of the scope that is being closed.
+     */
+    void closeAll(final List<ExceptionDuringClose> exceptions,
+                  final long deadline,
+                  final LifecycleManager lifecycleManager) {
+        final Map<Long, ChildScope> current = children;
+        if (current == null) {
+            return;
+        }
+        final List<Long> ids = new ArrayList<>(current.keySet());
+        ids.sort(Long::compare);
+        final List<ChildScope> childScopes = new ArrayList<>(ids.size());
+        for (final Long id : ids) {
+            final ChildScope childScope = current.get(id);
+            if (childScope != null) {
+                childScopes.add(childScope);
+            }
+        }
+        lifecycleManager.closeIndependently(childScopes,
+                (childScope, exceptionsOfChild) -> childScope.close(exceptionsOfChild, deadline), exceptions, deadline);
+    }
+
+    int size() {
+        final Map<Long, ChildScope> current = children;
+        if (current == null) {
+            return 0;
+        }
+        return current.size();
+    }
+
+    private interface ChildScope {
+        void close(List<ExceptionDuringClose> exceptions, long deadline);
+
+        void markClosed();
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class StrongChildScope implements ChildScope {
+        private final InjectMaid injectMaid;
+        private final String scopeDescription;
+
+        @Override
+        public void close(final List<ExceptionDuringClose> exceptions, final long deadline) {
+            injectMaid.close(exceptions, deadline);
+        }
+
+        @Override
+        public void markClosed() {
+            // nothing to release
+        }
+
+        @Override
+        public String toString() {
+            return scopeDescription;
+        }
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class WeakChildScope implements ChildScope {
+        private final WeakReference<InjectMaid> injectMaid;
+        private final LeakedScopeCleanup cleanup;
+        private final Cleaner.Cleanable cleanable;
+
+        @Override
+        public void close(final List<ExceptionDuringClose> exceptions, final long deadline) {
+            final InjectMaid child = injectMaid.get();
+            if (child != null) {
+                child.close(exceptions, deadline);
+            } else {
+                cleanable.clean();
+            }
+        }
+
+        @Override
+        public void markClosed() {
+            cleanup.closed.set(true);
+            cleanable.clean();
+        }
+
+        @Override
+        public String toString() {
+            return cleanup.scopeDescription;
+        }
+    }
+
+    /**
+     * Must not reference the child injector, otherwise it would never become unreachable. The only path to it
+     * that cannot be avoided goes through the instances registered with the lifecycle manager,
+     * see {@link ScopeLeakListener}.
+     */
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class LeakedScopeCleanup implements Runnable {
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final ChildScopes parent;
+        private final long id;
+        private final String scopeDescription;
+        private final ChildScopes children;
+        private final LifecycleManager lifecycleManager;
+        private final ScopeLeakListener leakListener;
+
+        @Override
+        public void run() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            parent.remove(id);
+            final List<ExceptionDuringClose> exceptions = new ArrayList<>();
+            final long deadline = lifecycleManager.closeDeadline();
+            children.closeAll(exceptions, deadline, lifecycleManager);
+            lifecycleManager.closeAll(exceptions, deadline);
+            leakListener.onLeakedScope(scopeDescription, exceptions);
+        }
+    }
+}
@@ -35,16 +35,32 @@ import lombok.ToString;
 @EqualsAndHashCode
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public final class Definition {
+    private static final int UNASSIGNED = -1;
+
     private final TypeIdentifier type;
     private final Scope scope;
     private final Instantiator instantiator;
     private final ReusePolicy reusePolicy;
+    private final int typeId;
+    private final int scopeId;
+    private final int scopeDepth;
+    private final int singletonSlot;
+    private final int[] dependencyIds;
 
     public static Definition definition(final TypeIdentifier type,
                                         final Scope scope,
                                         final Instantiator instantiator,
                                         final ReusePolicy reusePolicy) {
-        return new Definition(type, scope, instantiator, reusePolicy);
+        return new Definition(type, scope, instantiator, reusePolicy, UNASSIGNED, UNASSIGNED, UNASSIGNED, UNASSIGNED, new int[0]);
+    }
+
+    Definition compiled(final Instantiator compiledInstantiator,
+                        final int typeId,
+                        final int scopeId,
+                        final int singletonSlot,
+                        final int[] dependencyIds) {
+        return new Definition(type, scope, compiledInstantiator, reusePolicy,
+                typeId, scopeId, scope.size(), singletonSlot, dependencyIds);
     }
 
     public boolean isEagerSingleton(final SingletonType defaultSingletonType) {
@@ -73,4 +89,24 @@ public final class Definition {
     public ReusePolicy reusePolicy() {
         return reusePolicy;
     }
+
+    public int typeId() {
+        return typeId;
+    }
+
+    public int scopeId() {
+        return scopeId;
+    }
+
+    public int scopeDepth() {
+        return scopeDepth;
+    }
+
+    public int singletonSlot() {
+        return singletonSlot;
+    }
+
+    public int[] dependencyIds() {
+        return dependencyIds;
+    }
 }
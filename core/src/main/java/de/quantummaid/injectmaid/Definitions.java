@@ -21,8 +21,9 @@
 
 package de.quantummaid.injectmaid;
 
-import de.quantummaid.injectmaid.statemachine.InjectMaidTypeScannerResult;
-import de.quantummaid.reflectmaid.typescanner.CollectionResult;
+import de.quantummaid.injectmaid.api.SingletonType;
+import de.quantummaid.injectmaid.instantiator.Instantiator;
+import de.quantummaid.injectmaid.instantiator.InstantiatorBackend;
 import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
 import de.quantummaid.reflectmaid.typescanner.scopes.Scope;
 import lombok.AccessLevel;
@@ -30,61 +31,127 @@ import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 import static de.quantummaid.injectmaid.InjectMaidException.injectMaidException;
+import static de.quantummaid.injectmaid.ScopeDefinitions.scopeDefinitions;
+import static de.quantummaid.injectmaid.instantiator.InstantiatorBackend.reflectiveInstantiatorBackend;
 import static java.lang.String.format;
-import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.*;
 
 @ToString
 @EqualsAndHashCode
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public final class Definitions {
+    private static final ScopeDefinitions NO_DEFINITIONS = scopeDefinitions(List.of());
+
     private final List<Scope> scopes;
     private final Map<TypeIdentifier, List<Definition>> definitions;
+    private final Map<Scope, ResolutionTable> resolutionTables;
+    private final Map<Scope, Integer> scopeIds;
+    private final Map<TypeIdentifier, Integer> typeIds;
+    private final Map<Scope, ScopeDefinitions> definitionsByScope;
 
     public static Definitions definitions(final List<Scope> scopes,
-                                          final Map<TypeIdentifier, Map<Scope, CollectionResult<InjectMaidTypeScannerResult>>> definitions) {
-        final Map<TypeIdentifier, List<Definition>> mapOfLists = definitions.entrySet().stream()
-                .collect(toMap(Map.Entry::getKey, entry -> {
-                    final Map<Scope, CollectionResult<InjectMaidTypeScannerResult>> byScope = entry.getValue();
-                    return byScope.values().stream()
-                            .map(CollectionResult::getDefinition)
-                            .map(InjectMaidTypeScannerResult::toDefinition)
-                            .collect(toList());
-                }));
-        return new Definitions(scopes, mapOfLists);
+                                          final List<Definition> definitions) {
+        return definitions(scopes, definitions, reflectiveInstantiatorBackend());
     }
 
-    public boolean hasDefinitionFor(final TypeIdentifier type, final Scope scope) {
-        if (!definitions.containsKey(type)) {
-            return false;
+    public static Definitions definitions(final List<Scope> scopes,
+                                          final List<Definition> definitions,
+                                          final InstantiatorBackend instantiatorBackend) {
+        final Map<TypeIdentifier, List<Definition>> mapOfLists = definitions.stream()
+                .collect(groupingBy(Definition::type));
+        return compile(scopes, mapOfLists, instantiatorBackend);
+    }
+
+    private static Definitions compile(final List<Scope> scopes,
+                                       final Map<TypeIdentifier, List<Definition>> definitions,
+                                       final InstantiatorBackend instantiatorBackend) {
+        final Map<Scope, Integer> scopeIds = new HashMap<>(scopes.size());
+        scopes.forEach(scope -> scopeIds.put(scope, scopeIds.size()));
+        final Map<TypeIdentifier, Integer> typeIds = new HashMap<>(definitions.size());
+        definitions.keySet().forEach(type -> typeIds.put(type, typeIds.size()));
+
+        final int[] singletonSlots = new int[scopes.size()];
+        final Map<TypeIdentifier, List<Definition>> compiledDefinitions = new HashMap<>(definitions.size());
+        definitions.forEach((type, candidates) -> {
+            final List<Definition> compiledCandidates = new ArrayList<>(candidates.size());
+            for (final Definition candidate : candidates) {
+                final Integer scopeId = scopeIds.get(candidate.scope());
+                if (scopeId == null) {
+                    throw injectMaidException(format("Definition of type '%s' refers to unknown scope '%s'",
+                            type.description(), candidate.scope().render()));
+                }
+                final int singletonSlot = candidate.isSingleton() ? singletonSlots[scopeId]++ : -1;
+                final Instantiator instantiator = instantiatorBackend.compile(candidate.instantiator());
+                final int[] dependencyIds = instantiator.dependencies().stream()
+                        .mapToInt(dependency -> typeIds.getOrDefault(dependency, -1))
+                        .toArray();
+                compiledCandidates.add(candidate.compiled(
+                        instantiator, typeIds.get(type), scopeId, singletonSlot, dependencyIds));
+            }
+            compiledDefinitions.put(type, compiledCandidates);
+        });
+
+        final Map<Scope, ResolutionTable> resolutionTables = new HashMap<>(scopes.size());
+        scopeIds.forEach((scope, scopeId) -> resolutionTables.put(scope, ResolutionTable.resolutionTable(
+                scope, scopeId, singletonSlots[scopeId], typeIds, compiledDefinitions)));
+        final Map<Scope, List<Definition>> definitionListsByScope = new HashMap<>(scopes.size());
+        compiledDefinitions.values().forEach(candidates -> candidates.forEach(candidate -> definitionListsByScope
+                .computeIfAbsent(candidate.scope(), scope -> new ArrayList<>())
+                .add(candidate)));
+        final Map<Scope, ScopeDefinitions> definitionsByScope = new HashMap<>(scopes.size());
+        definitionListsByScope.forEach((scope, definitionsOnScope) ->
+                definitionsByScope.put(scope, scopeDefinitions(definitionsOnScope)));
+        return new Definitions(scopes, compiledDefinitions, resolutionTables, scopeIds, typeIds, definitionsByScope);
+    }
+
+    public ResolutionTable resolutionTable(final Scope scope) {
+        final ResolutionTable resolutionTable = resolutionTables.get(scope);
+        if (resolutionTable != null) {
+            return resolutionTable;
         }
-        return definitions.get(type).stream()
-                .filter(definition -> definition.scope().contains(scope))
-                .max(comparing(definition -> definition.scope().size()))
-                .isPresent();
+        return ResolutionTable.resolutionTable(scope, -1, 0, typeIds, definitions);
+    }
+
+    public boolean[] typeIdsMatching(final Predicate<TypeIdentifier> predicate) {
+        final boolean[] matching = new boolean[typeIds.size()];
+        typeIds.forEach((type, typeId) -> matching[typeId] = predicate.test(type));
+        return matching;
+    }
+
+    public int scopeId(final Scope scope) {
+        return scopeIds.get(scope);
+    }
+
+    public boolean hasDefinitionFor(final TypeIdentifier type, final Scope scope) {
+        return resolutionTable(scope).hasDefinitionFor(type);
     }
 
     public Definition definitionFor(final TypeIdentifier type, final Scope scope) {
-        if (!definitions.containsKey(type)) {
-            throw injectMaidException(format("Cannot instantiate unregistered type '%s'", type.description()));
-        }
-        return definitions.get(type).stream()
-                .filter(definition -> definition.scope().contains(scope))
-                .max(comparing(definition -> definition.scope().size()))
-                .orElseThrow(() -> injectMaidException(format(
-                        "Tried to instantiate unregistered type '%s'", type.description())));
+        return resolutionTable(scope).definitionFor(type);
     }
 
     public List<Definition> definitionsOnScope(final Scope scope) {
-        return definitions.values().stream()
-                .flatMap(Collection::stream)
-                .filter(definition -> definition.scope().equals(scope))
-                .collect(toList());
+        return scopeDefinitions(scope).definitions();
+    }
+
+    public List<Definition> singletonsOnScope(final Scope scope) {
+        return scopeDefinitions(scope).singletons();
+    }
+
+    public List<Definition> eagerSingletonsOnScope(final Scope scope, final SingletonType defaultSingletonType) {
+        return scopeDefinitions(scope).eagerSingletons(defaultSingletonType);
+    }
+
+    private ScopeDefinitions scopeDefinitions(final Scope scope) {
+        return definitionsByScope.getOrDefault(scope, NO_DEFINITIONS);
     }
 
     public List<Scope> allScopes() {
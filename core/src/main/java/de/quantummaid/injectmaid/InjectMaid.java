@@ -26,9 +26,11 @@ import de.quantummaid.injectmaid.api.ReusePolicy;
 import de.quantummaid.injectmaid.api.SingletonType;
 import de.quantummaid.injectmaid.api.interception.*;
 import de.quantummaid.injectmaid.closing.Closer;
+import de.quantummaid.injectmaid.instantiator.AsyncInstantiator;
 import de.quantummaid.injectmaid.instantiator.Instantiator;
 import de.quantummaid.injectmaid.lifecyclemanagement.ExceptionDuringClose;
 import de.quantummaid.injectmaid.lifecyclemanagement.LifecycleManager;
+import de.quantummaid.injectmaid.TypeCache.CachedType;
 import de.quantummaid.injectmaid.timing.InstanceAndTimedDependencies;
 import de.quantummaid.injectmaid.timing.InstantiationTime;
 import de.quantummaid.injectmaid.timing.InstantiationTimes;
@@ -46,39 +48,64 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Predicate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import static de.quantummaid.injectmaid.InjectMaidBuilder.injectMaidBuilder;
 import static de.quantummaid.injectmaid.InjectMaidException.injectMaidException;
+import static de.quantummaid.injectmaid.InstanceHandle.instanceHandle;
+import static de.quantummaid.injectmaid.ParallelSingletonInitializer.initializeInParallel;
 import static de.quantummaid.injectmaid.ScopeManager.scopeManager;
+import static de.quantummaid.injectmaid.ScopeTemplate.rootScopeTemplate;
 import static de.quantummaid.injectmaid.ShutdownHook.shutdownHook;
+import static de.quantummaid.injectmaid.SingletonConstruction.NO_SINGLETON;
 import static de.quantummaid.injectmaid.SingletonStore.singletonStore;
+import static de.quantummaid.injectmaid.TypeCache.typeCache;
 import static de.quantummaid.injectmaid.api.interception.InterceptorFactories.interceptorFactories;
 import static de.quantummaid.injectmaid.api.interception.overwrite.OverwritingInterceptor.overwritingInterceptor;
-import static de.quantummaid.injectmaid.circledetector.CircularDependencyDetector.validateNoCircularDependencies;
 import static de.quantummaid.injectmaid.timing.InstanceAndTimedDependencies.instanceWithNoDependencies;
 import static de.quantummaid.injectmaid.timing.TimedInstantiation.timeInstantiation;
 import static de.quantummaid.reflectmaid.typescanner.TypeIdentifier.typeIdentifierFor;
-import static de.quantummaid.reflectmaid.typescanner.scopes.Scope.rootScope;
 import static java.lang.Runtime.getRuntime;
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 @SuppressWarnings("java:S1200")
 public final class InjectMaid implements Injector {
+    private static final Object[] NO_DEPENDENCIES = new Object[0];
+    private static final AtomicReferenceFieldUpdater<InjectMaid, LifecycleManager> EXTERNAL_LIFECYCLE_MANAGER =
+            AtomicReferenceFieldUpdater.newUpdater(InjectMaid.class, LifecycleManager.class, "externalLifecycleManager");
+    private static final AtomicReferenceFieldUpdater<InjectMaid, InstantiationTimes> INSTANTIATION_TIMES =
+            AtomicReferenceFieldUpdater.newUpdater(InjectMaid.class, InstantiationTimes.class, "instantiationTimes");
+
     private final ReflectMaid reflectMaid;
     private final Definitions definitions;
+    private final TypeCache typeCache;
+    private final ResolutionTable resolutionTable;
     private final SingletonType defaultSingletonType;
+    private final Executor singletonInitializationExecutor;
+    private final Executor asyncInstantiationExecutor;
     private final SingletonStore singletonStore;
-    private final Scope scope;
+    private final ScopeTemplate template;
     private final ScopeManager scopeManager;
     private final InterceptorFactories interceptorFactories;
-    private final List<InjectMaid> children = new ArrayList<>();
+    private final ChildScopes children;
+    private final SingletonFactory untimedSingletonFactory = this::createUntimed;
     private final LifecycleManager lifecycleManager;
     private final InjectMaid parent;
-    private final InstantiationTimes instantiationTimes;
+    private final long childScopeId;
+    private volatile LifecycleManager externalLifecycleManager;
+    private volatile InstantiationTimes instantiationTimes;
+    private volatile boolean closed;
 
     public static InjectMaidBuilder anInjectMaid() {
         final ReflectMaid reflectMaid = ReflectMaid.aReflectMaid();
@@ -92,23 +119,31 @@ public final class InjectMaid implements Injector {
     static InjectMaid injectMaid(final ReflectMaid reflectMaid,
                                  final Definitions definitions,
                                  final SingletonType defaultSingletonType,
+                                 final Executor singletonInitializationExecutor,
+                                 final Executor asyncInstantiationExecutor,
                                  final LifecycleManager lifecycleManager,
-                                 final List<InterceptorFactory> preConfiguredInterceptorFactories) {
-        validateNoCircularDependencies(definitions);
-        final Scope scope = rootScope();
+                                 final List<InterceptorFactory> preConfiguredInterceptorFactories,
+                                 final ChildScopes childScopes) {
+        final ScopeTemplate template = rootScopeTemplate(definitions, defaultSingletonType, lifecycleManager::canClose);
+        final ResolutionTable resolutionTable = template.resolutionTable();
         final ScopeManager scopeManager = scopeManager();
         final InterceptorFactories interceptorFactories = interceptorFactories(preConfiguredInterceptorFactories);
         final InjectMaid injectMaid = new InjectMaid(
                 reflectMaid,
                 definitions,
+                typeCache(reflectMaid, resolutionTable),
+                resolutionTable,
                 defaultSingletonType,
-                singletonStore(),
-                scope,
+                singletonInitializationExecutor,
+                asyncInstantiationExecutor,
+                singletonStore(resolutionTable),
+                template,
                 scopeManager,
                 interceptorFactories,
+                childScopes,
                 lifecycleManager,
                 null,
-                InstantiationTimes.instantiationTimes(reflectMaid)
+                0
         );
         injectMaid.loadEagerSingletons();
         return injectMaid;
@@ -116,39 +151,52 @@ public final class InjectMaid implements Injector {
 
     @Override
     public void initializeAllSingletons(final Duration enforcedMaxTime) {
-        initializeDefinitionsThat(Definition::isSingleton, enforcedMaxTime);
+        initializeDefinitions(template.singletons(), enforcedMaxTime);
     }
 
     private void loadEagerSingletons() {
-        initializeDefinitionsThat(definition -> definition.isEagerSingleton(defaultSingletonType), null);
+        final List<Definition> eagerSingletons = template.eagerSingletons();
+        if (!eagerSingletons.isEmpty()) {
+            initializeDefinitions(eagerSingletons, null);
+        }
     }
 
-    private void initializeDefinitionsThat(final Predicate<Definition> predicate,
-                                           final Duration enforcedMaxTime) {
+    private void initializeDefinitions(final List<Definition> selectedDefinitions,
+                                       final Duration enforcedMaxTime) {
         final Instant before = Instant.now();
-        definitions.definitionsOnScope(scope).stream()
-                .filter(predicate)
-                .forEach(definition -> {
-                    final TypeIdentifier type = definition.type();
-                    final TimedInstantiation<Object> timedInstantiation = getInstanceWithInitializationTime(type, type);
-                    final InstantiationTime time = timedInstantiation.instantiationTime();
-                    instantiationTimes.addInitializationTime(type, time);
-                });
+        if (singletonInitializationExecutor == null || selectedDefinitions.size() < 2) {
+            selectedDefinitions.forEach(this::initialize);
+        } else {
+            initializeInParallel(selectedDefinitions, resolutionTable, singletonInitializationExecutor, this::initialize);
+        }
         final Instant after = Instant.now();
         final Duration duration = Duration.between(before, after);
         if (enforcedMaxTime != null && enforcedMaxTime.compareTo(duration) < 0) {
             throw injectMaidException("" +
                     "initializing all singletons " +
                     "must not take longer than " + enforcedMaxTime.toMillis() + "ms but took " + duration.toMillis() + "ms.\n" +
-                    "Individual instantion times:\n" + instantiationTimes.render()
+                    "Individual instantion times:\n" + instantiationTimes().render()
             );
         }
     }
 
+    private void initialize(final Definition definition) {
+        final TypeIdentifier type = definition.type();
+        final TimedInstantiation<Object> timedInstantiation = getInstanceWithInitializationTime(type, type);
+        final InstantiationTime time = timedInstantiation.instantiationTime();
+        instantiationTimes().addInitializationTime(type, time);
+    }
+
+    @Override
+    public <T> Injector enterScopeWithTimeout(final Class<T> type, final T scopeObject, final Duration enforcedMaxTime) {
+        final TypeIdentifier typeIdentifier = typeCache.cachedType(type).type();
+        return enterScopeWithTimeout(typeIdentifier, scopeObject, enforcedMaxTime);
+    }
+
     @Override
     public <T> Injector enterScopeWithTimeout(final GenericType<T> type, final T scopeObject, final Duration enforcedMaxTime) {
-        final ResolvedType resolvedType = reflectMaid.resolve(type);
-        return enterScopeWithTimeout(resolvedType, scopeObject, enforcedMaxTime);
+        final TypeIdentifier typeIdentifier = typeCache.cachedType(type).type();
+        return enterScopeWithTimeout(typeIdentifier, scopeObject, enforcedMaxTime);
     }
 
     @Override
@@ -163,14 +211,10 @@ public final class InjectMaid implements Injector {
                                           final Duration enforcedMaxTime) {
         final Instant before = Instant.now();
         final Injector scopedInjector = enterScopeIfExists(typeIdentifier, scopeObject).orElseThrow(() -> {
-            final Scope childScope = this.scope.childScope(typeIdentifier);
-            final String registeredScopes = definitions.allScopes().stream()
-                    .map(Scope::render)
-                    .sorted()
-                    .collect(joining(", ", "[", "]"));
+            final Scope childScope = template.scope().childScope(typeIdentifier);
             throw injectMaidException(format("Tried to enter unknown scope '%s' with object '%s'. " +
                             "Registered scopes: %s",
-                    childScope.render(), scopeObject, registeredScopes));
+                    childScope.render(), scopeObject, registeredScopes()));
         });
         final Instant after = Instant.now();
         final Duration duration = Duration.between(before, after);
@@ -179,16 +223,22 @@ public final class InjectMaid implements Injector {
             throw injectMaidException("" +
                     "entering scope " + typeIdentifier.description() + " " +
                     "must not take longer than " + enforcedMaxTime.toMillis() + "ms but took " + duration.toMillis() + "ms.\n" +
-                    "Individual instantion times:\n" + scopedInjectMaid.instantiationTimes.render()
+                    "Individual instantion times:\n" + scopedInjectMaid.instantiationTimes().render()
             );
         }
         return scopedInjector;
     }
 
+    @Override
+    public <T> Optional<Injector> enterScopeIfExists(final Class<T> type, final T scopeObject) {
+        final TypeIdentifier typeIdentifier = typeCache.cachedType(type).type();
+        return enterScopeIfExists(typeIdentifier, scopeObject);
+    }
+
     @Override
     public <T> Optional<Injector> enterScopeIfExists(final GenericType<T> type, final T scopeObject) {
-        final ResolvedType resolvedType = reflectMaid.resolve(type);
-        return enterScopeIfExists(resolvedType, scopeObject);
+        final TypeIdentifier typeIdentifier = typeCache.cachedType(type).type();
+        return enterScopeIfExists(typeIdentifier, scopeObject);
     }
 
     @Override
@@ -198,31 +248,70 @@ public final class InjectMaid implements Injector {
     }
 
     public Optional<Injector> enterScopeIfExists(final TypeIdentifier typeIdentifier, final Object scopeObject) {
-        final Scope childScope = scope.childScope(typeIdentifier);
-        final List<Scope> scopes = definitions.allScopes();
-        if (!scopes.contains(childScope)) {
+        final ScopeTemplate childTemplate = template.childTemplate(typeIdentifier);
+        if (childTemplate == null) {
             return Optional.empty();
         }
-        final SingletonStore childSingletonStore = singletonStore.child(typeIdentifier);
+        return Optional.of(enterChildScope(childTemplate, typeIdentifier, scopeObject));
+    }
+
+    ScopeTemplate childTemplateFor(final TypeIdentifier typeIdentifier) {
+        final ScopeTemplate childTemplate = template.childTemplate(typeIdentifier);
+        if (childTemplate == null) {
+            final Scope childScope = template.scope().childScope(typeIdentifier);
+            throw injectMaidException(format("Unknown scope '%s'. Registered scopes: %s",
+                    childScope.render(), registeredScopes()));
+        }
+        return childTemplate;
+    }
+
+    private String registeredScopes() {
+        return definitions.allScopes().stream()
+                .map(Scope::render)
+                .sorted()
+                .collect(joining(", ", "[", "]"));
+    }
+
+    InjectMaid enterChildScope(final ScopeTemplate childTemplate,
+                               final TypeIdentifier typeIdentifier,
+                               final Object scopeObject) {
+        final ResolutionTable childResolutionTable = childTemplate.resolutionTable();
+        final SingletonStore childSingletonStore = singletonStore.child(childResolutionTable);
         final ScopeManager childScopeManager = scopeManager.add(typeIdentifier, scopeObject);
         final ScopeEntryInterceptors scopeEntryInterceptors = interceptorFactories.scopeEntryInterceptors();
         final List<InterceptorFactory> childInterceptorFactories = scopeEntryInterceptors.interceptBefore(typeIdentifier, scopeObject);
+        final long childScopeId = children.nextId();
+        final ChildScopes grandChildren = children.forChild();
+        final boolean tracked = isTracked(childTemplate, children);
+        final LifecycleManager childLifecycleManager;
+        if (tracked) {
+            childLifecycleManager = lifecycleManager.newInstance(childResolutionTable);
+        } else {
+            childLifecycleManager = lifecycleManager.untracked();
+        }
         final InjectMaid scopedInjectMaid = new InjectMaid(
                 reflectMaid,
                 definitions,
+                typeCache,
+                childResolutionTable,
                 defaultSingletonType,
+                singletonInitializationExecutor,
+                asyncInstantiationExecutor,
                 childSingletonStore,
-                childScope,
+                childTemplate,
                 childScopeManager,
                 interceptorFactories(childInterceptorFactories),
-                lifecycleManager.newInstance(childScope),
+                grandChildren,
+                childLifecycleManager,
                 this,
-                InstantiationTimes.instantiationTimes(reflectMaid)
+                childScopeId
         );
-        children.add(scopedInjectMaid);
+        if (tracked) {
+            children.register(childScopeId, scopedInjectMaid, childTemplate.description(), grandChildren, childLifecycleManager);
+        }
         scopedInjectMaid.loadEagerSingletons();
         scopeEntryInterceptors.interceptAfter(typeIdentifier, scopeObject, scopedInjectMaid);
-        return Optional.of(scopedInjectMaid);
+        return scopedInjectMaid;
     }
 
     @Override
@@ -236,11 +325,80 @@ public final class InjectMaid implements Injector {
         interceptorFactories.addInterceptor(interceptor);
     }
 
+    @Override
+    public <T> T getInstance(final Class<T> type) {
+        return getInstance(typeCache.cachedType(type));
+    }
+
+    @Override
+    public <T> T getInstance(final GenericType<T> type) {
+        return getInstance(typeCache.cachedType(type));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getInstance(final CachedType cachedType) {
+        final TypeIdentifier type = cachedType.type();
+        return (T) resolve(type, cachedType.typeId(), type);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T> T getInstance(final TypeIdentifier type) {
-        final TimedInstantiation<Object> instanceWithInitializationTime = getInstanceWithInitializationTime(type, type);
-        return (T) instanceWithInitializationTime.instance();
+        final int typeId = resolutionTable.typeId(type);
+        return (T) resolve(type, typeId, type);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getInstanceAsync(final Class<T> type) {
+        final CachedType cachedType = typeCache.cachedType(type);
+        return getInstanceAsync(cachedType.type(), cachedType.typeId());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getInstanceAsync(final GenericType<T> type) {
+        final CachedType cachedType = typeCache.cachedType(type);
+        return getInstanceAsync(cachedType.type(), cachedType.typeId());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getInstanceAsync(final TypeIdentifier type) {
+        final int typeId = resolutionTable.typeId(type);
+        return getInstanceAsync(type, typeId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> getInstanceAsync(final TypeIdentifier type, final int typeId) {
+        try {
+            return (CompletableFuture<T>) resolveAsync(type, typeId, type);
+        } catch (final RuntimeException e) {
+            return failedFuture(e);
+        }
+    }
+
+    public <T> InstanceHandle<T> handle(final Class<T> type) {
+        return handle(typeCache.cachedType(type));
+    }
+
+    public <T> InstanceHandle<T> handle(final GenericType<T> type) {
+        return handle(typeCache.cachedType(type));
+    }
+
+    private <T> InstanceHandle<T> handle(final CachedType cachedType) {
+        final TypeIdentifier typeIdentifier = cachedType.type();
+        final int typeId = cachedType.typeId();
+        if (typeId < 0) {
+            throw injectMaidException(format("Cannot create handle for unregistered type '%s'", typeIdentifier.description()));
+        }
+        return instanceHandle(definitions, typeIdentifier, typeId);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T getInstance(final InstanceHandle<T> handle) {
+        final TypeIdentifier type = handle.type();
+        if (!handle.belongsTo(definitions)) {
+            return getInstance(type);
+        }
+        return (T) resolve(type, handle.typeId(), type);
     }
 
     @Override
@@ -254,29 +412,40 @@ public final class InjectMaid implements Injector {
         return getInstanceWithInitializationTime(typeIdentifier, typeIdentifier);
     }
 
-    @SuppressWarnings("unchecked")
     public <T> TimedInstantiation<T> getInstanceWithInitializationTime(final TypeIdentifier type,
                                                                        final TypeIdentifier rootType) {
+        final int typeId = resolutionTable.typeId(type);
+        return getInstanceWithInitializationTime(type, typeId, rootType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> TimedInstantiation<T> getInstanceWithInitializationTime(final TypeIdentifier type,
+                                                                        final int typeId,
+                                                                        final TypeIdentifier rootType) {
         final Interceptors interceptors = interceptorFactories.interceptors();
         final Optional<?> intercepted = interceptors.interceptBefore(type, rootType);
         if (intercepted.isPresent()) {
             return timeInstantiation(type, () -> (InstanceAndTimedDependencies<T>) instanceWithNoDependencies(intercepted.get()));
         }
-        final Definition definition = definitions.definitionFor(type, scope);
+        final Definition definition = resolutionTable.definitionFor(typeId, type);
         final ReusePolicy reusePolicy = definition.reusePolicy();
         final TimedInstantiation<Object> timedInstantiation = internalGetInstance(definition, rootType);
         return (TimedInstantiation<T>) timedInstantiation.modify(instance -> interceptors.interceptAfter(type, rootType, reusePolicy, instance));
     }
 
+    @Override
+    public boolean canInstantiate(final Class<?> type) {
+        return canInstantiate(typeCache.cachedType(type).type());
+    }
+
     @Override
     public boolean canInstantiate(final GenericType<?> type) {
-        final ResolvedType resolvedType = reflectMaid.resolve(type);
-        return canInstantiate(resolvedType);
+        return canInstantiate(typeCache.cachedType(type).type());
     }
 
     @Override
     public boolean canInstantiate(final TypeIdentifier type) {
-        return definitions.hasDefinitionFor(type, scope);
+        return resolutionTable.hasDefinitionFor(type);
     }
 
     public String debugInformation() {
@@ -287,10 +456,131 @@ public final class InjectMaid implements Injector {
         return createAndRegister(definition, rootType);
     }
 
+    private Object resolve(final TypeIdentifier type,
+                           final int typeId,
+                           final TypeIdentifier rootType) {
+        final Interceptors interceptors = interceptorFactories.interceptors();
+        if (interceptors.isEmpty()) {
+            final Definition definition = resolutionTable.definitionFor(typeId, type);
+            return resolveDefinition(definition, rootType);
+        }
+        final Optional<?> intercepted = interceptors.interceptBefore(type, rootType);
+        if (intercepted.isPresent()) {
+            return intercepted.get();
+        }
+        final Definition definition = resolutionTable.definitionFor(typeId, type);
+        final Object instance = resolveDefinition(definition, rootType);
+        return interceptors.interceptAfter(type, rootType, definition.reusePolicy(), instance);
+    }
+
+    private Object resolveDefinition(final Definition definition, final TypeIdentifier rootType) {
+        if (definition.isSingleton()) {
+            return singletonStore.getOrCreate(definition, rootType, untimedSingletonFactory);
+        }
+        return createUntimed(definition, rootType);
+    }
+
+    private CompletableFuture<Object> resolveAsync(final TypeIdentifier type,
+                                                   final int typeId,
+                                                   final TypeIdentifier rootType) {
+        final Interceptors interceptors = interceptorFactories.interceptors();
+        if (!interceptors.isEmpty()) {
+            return supplyAsync(() -> resolve(type, typeId, rootType), asyncInstantiationExecutor);
+        }
+        final Definition definition = resolutionTable.definitionFor(typeId, type);
+        if (definition.isSingleton()) {
+            return singletonStore.getOrCreateAsync(definition, rootType, this::createAsync);
+        }
+        return createAsync(definition, rootType, NO_SINGLETON);
+    }
+
+    private CompletableFuture<Object> createAsync(final Definition definition,
+                                                  final TypeIdentifier rootType,
+                                                  final SingletonConstruction construction) {
+        final List<TypeIdentifier> dependencyTypes = definition.instantiator().dependencies();
+        final int[] dependencyIds = definition.dependencyIds();
+        final CompletableFuture<?>[] dependencies = new CompletableFuture<?>[dependencyIds.length];
+        for (int i = 0; i < dependencyIds.length; ++i) {
+            dependencies[i] = resolveAsync(dependencyTypes.get(i), dependencyIds[i], rootType);
+        }
+        return allOf(dependencies)
+                .thenComposeAsync(ignored -> construction.instantiate(() -> instantiateAsync(definition, dependencies)),
+                        asyncInstantiationExecutor)
+                .thenApply(instance -> {
+                    registerForClosing(instance, definition);
+                    return instance;
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Object> instantiateAsync(final Definition definition,
+                                                       final CompletableFuture<?>[] dependencyFutures) {
+        final Object[] dependencyInstances = new Object[dependencyFutures.length];
+        for (int i = 0; i < dependencyFutures.length; ++i) {
+            dependencyInstances[i] = dependencyFutures[i].join();
+        }
+        final Instantiator instantiator = definition.instantiator();
+        if (!(instantiator instanceof AsyncInstantiator)) {
+            return completedFuture(instantiateUntimed(definition, dependencyInstances));
+        }
+        final CompletableFuture<Object> instance;
+        try {
+            instance = (CompletableFuture<Object>) ((AsyncInstantiator) instantiator)
+                    .instantiateAsync(asList(dependencyInstances), scopeManager, this);
+        } catch (final RuntimeException e) {
+            throw instantiationException(definition, e);
+        }
+        return instance.handle((created, exception) -> {
+            if (exception != null) {
+                throw instantiationException(definition, unwrap(exception));
+            }
+            return created;
+        });
+    }
+
+    private static Throwable unwrap(final Throwable exception) {
+        if (exception instanceof CompletionException && exception.getCause() != null) {
+            return exception.getCause();
+        }
+        return exception;
+    }
+
+    private static InjectMaidException instantiationException(final Definition definition, final Throwable cause) {
+        return injectMaidException(format("Exception during instantiation of '%s' using %s",
+                definition.type().simpleDescription(), definition.instantiator().description()), cause);
+    }
+
+    private Object createUntimed(final Definition definition, final TypeIdentifier rootType) {
+        final Object instance = instantiateUntimed(definition, rootType);
+        registerForClosing(instance, definition);
+        return instance;
+    }
+
+    private Object instantiateUntimed(final Definition definition, final TypeIdentifier rootType) {
+        final int[] dependencyIds = definition.dependencyIds();
+        if (dependencyIds.length == 0) {
+            return instantiateUntimed(definition, NO_DEPENDENCIES);
+        }
+        final List<TypeIdentifier> dependencyTypes = definition.instantiator().dependencies();
+        final Object[] dependencies = new Object[dependencyIds.length];
+        for (int i = 0; i < dependencyIds.length; ++i) {
+            dependencies[i] = resolve(dependencyTypes.get(i), dependencyIds[i], rootType);
+        }
+        return instantiateUntimed(definition, dependencies);
+    }
+
+    private Object instantiateUntimed(final Definition definition, final Object[] dependencies) {
+        try {
+            return definition.instantiator().instantiate(dependencies, scopeManager, injectorFor(definition));
+        } catch (final Exception e) {
+            throw instantiationException(definition, e);
+        }
+    }
+
     private TimedInstantiation<Object> instantiate(final Definition definition, final TypeIdentifier rootType) {
         final Instantiator instantiator = definition.instantiator();
         return timeInstantiation(definition.type(), () -> {
-            final List<TimedInstantiation<?>> timedDependencies = instantiateDependencies(instantiator, rootType);
+            final List<TimedInstantiation<?>> timedDependencies = instantiateDependencies(definition, rootType);
             final List<Object> dependencies = timedDependencies.stream()
                     .map(TimedInstantiation::instance)
                     .collect(toList());
@@ -298,7 +588,7 @@ public final class InjectMaid implements Injector {
                     .map(TimedInstantiation::instantiationTime)
                     .collect(toList());
             try {
-                final Object instance = instantiator.instantiate(dependencies, scopeManager, this);
+                final Object instance = instantiator.instantiate(dependencies, scopeManager, injectorFor(definition));
                 return InstanceAndTimedDependencies.instanceAndTimedDependencies(instance, dependenciesInstantiationTimes);
             } catch (final Exception e) {
                 throw injectMaidException(format("Exception during instantiation of '%s' using %s",
@@ -307,56 +597,135 @@ public final class InjectMaid implements Injector {
         });
     }
 
-    private List<TimedInstantiation<?>> instantiateDependencies(final Instantiator instantiator, final TypeIdentifier rootType) {
-        return instantiator.dependencies().stream()
-                .map(dependency -> getInstanceWithInitializationTime(dependency, rootType))
-                .collect(toList());
+    /**
+     * Lazies and providers keep the injector to resolve their deferred dependencies later. They are bound to the
+     * scope that owns their definition, so that e.g. a root singleton first created from a child scope does not keep
+     * that child scope reachable or resolve through it after it has been closed.
+     */
+    private InjectMaid injectorFor(final Definition definition) {
+        if (definition.instantiator().deferredDependencies().isEmpty()) {
+            return this;
+        }
+        InjectMaid current = this;
+        while (current.scopeManager.depth() > definition.scopeDepth()) {
+            current = current.parent;
+        }
+        return current;
+    }
+
+    /**
+     * Resolves a dependency that has been deferred by a {@link de.quantummaid.injectmaid.api.Lazy}
+     * or a {@code Provider} bound to this scope.
+     */
+    public <T> T getDeferredInstance(final TypeIdentifier type) {
+        if (closed) {
+            throw injectMaidException(format(
+                    "cannot resolve '%s' because the scope it has been injected from is already closed",
+                    type.description()));
+        }
+        return getInstance(type);
+    }
+
+    private List<TimedInstantiation<?>> instantiateDependencies(final Definition definition, final TypeIdentifier rootType) {
+        final List<TypeIdentifier> dependencyTypes = definition.instantiator().dependencies();
+        final int[] dependencyIds = definition.dependencyIds();
+        final List<TimedInstantiation<?>> dependencies = new ArrayList<>(dependencyIds.length);
+        for (int i = 0; i < dependencyIds.length; ++i) {
+            dependencies.add(getInstanceWithInitializationTime(dependencyTypes.get(i), dependencyIds[i], rootType));
+        }
+        return dependencies;
     }
 
+    @SuppressWarnings("unchecked")
     private TimedInstantiation<Object> createAndRegister(final Definition definition, final TypeIdentifier rootType) {
-        final boolean singleton = definition.isSingleton();
-        final TypeIdentifier type = definition.type();
-        final Scope definitionScope = definition.scope();
-        if (singleton && singletonStore.contains(type, definitionScope)) {
-            return timeInstantiation(definition.type(),
-                    () -> instanceWithNoDependencies(singletonStore.get(type, definitionScope)));
+        if (!definition.isSingleton()) {
+            return createTimed(definition, rootType);
         }
-        final TimedInstantiation<Object> instance = instantiate(definition, rootType);
-        lifecycleManager.registerInstance(instance.instance(), definitionScope);
-        if (singleton) {
-            singletonStore.put(type, definitionScope, instance.instance());
+        final TimedInstantiation<Object>[] created = new TimedInstantiation[1];
+        final Object instance = singletonStore.getOrCreate(definition, rootType, (singletonDefinition, singletonRootType) -> {
+            created[0] = createTimed(singletonDefinition, singletonRootType);
+            return created[0].instance();
+        });
+        if (created[0] != null) {
+            return created[0];
         }
+        return timeInstantiation(definition.type(), () -> instanceWithNoDependencies(instance));
+    }
+
+    private TimedInstantiation<Object> createTimed(final Definition definition, final TypeIdentifier rootType) {
+        final TimedInstantiation<Object> instance = instantiate(definition, rootType);
+        registerForClosing(instance.instance(), definition);
         return instance;
     }
 
+    private void registerForClosing(final Object instance, final Definition definition) {
+        if (lifecycleManager.canClose(definition.typeId())) {
+            lifecycleManager.registerInstance(instance, definition.scopeId(), definition.typeId());
+        }
+    }
+
     public InstantiationTimes instantiationTimes() {
+        final InstantiationTimes current = instantiationTimes;
+        if (current != null) {
+            return current;
+        }
+        INSTANTIATION_TIMES.compareAndSet(this, null, InstantiationTimes.instantiationTimes(reflectMaid));
         return instantiationTimes;
     }
 
     void registerShutdownHook() {
         final ShutdownHook shutdownHook = shutdownHook(this);
         getRuntime().addShutdownHook(shutdownHook);
-        lifecycleManager.registerInstance(shutdownHook, scope);
+        lifecycleManager.registerInstance(shutdownHook, resolutionTable.scopeId());
     }
 
     public void registerExternalObjectToLifecycleManagement(final Object object) {
-        lifecycleManager.registerInstance(object, scope);
+        trackedLifecycleManager().registerInstance(object, resolutionTable.scopeId());
+    }
+
+    private static boolean isTracked(final ScopeTemplate template, final ChildScopes children) {
+        return template.mayNeedClosing() || children.tracksLeaks();
+    }
+
+    private LifecycleManager trackedLifecycleManager() {
+        if (parent == null || isTracked(template, children)) {
+            return lifecycleManager;
+        }
+        final LifecycleManager current = externalLifecycleManager;
+        if (current != null) {
+            return current;
+        }
+        final LifecycleManager tracked = parent.trackedLifecycleManager().newInstance(resolutionTable);
+        if (EXTERNAL_LIFECYCLE_MANAGER.compareAndSet(this, null, tracked)) {
+            parent.children.register(childScopeId, this, template.description(), children, tracked);
+            return tracked;
+        }
+        return externalLifecycleManager;
     }
 
     @Override
     public void close() {
-        Closer.close(this::close);
+        final long deadline = lifecycleManager.closeDeadline();
+        Closer.close(exceptions -> close(exceptions, deadline));
     }
 
-    private void close(final List<ExceptionDuringClose> exceptions) {
-        final List<InjectMaid> childrenToClose = new ArrayList<>(children);
-        childrenToClose.forEach(injectMaid -> injectMaid.close(exceptions));
-        lifecycleManager.closeAll(exceptions);
+    void close(final List<ExceptionDuringClose> exceptions, final long deadline) {
+        closed = true;
+        children.closeAll(exceptions, deadline, lifecycleManager);
+        lifecycleManager.closeAll(exceptions, deadline);
+        final LifecycleManager external = externalLifecycleManager;
+        if (external != null) {
+            external.closeAll(exceptions, deadline);
+        }
         if (parent != null) {
-            parent.children.remove(this);
+            parent.children.deregister(childScopeId);
         }
     }
 
+    int childScopeCount() {
+        return children.size();
+    }
+
     @Override
     public ReflectMaid reflectMaid() {
         return reflectMaid;
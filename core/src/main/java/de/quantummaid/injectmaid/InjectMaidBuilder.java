@@ -24,18 +24,23 @@ package de.quantummaid.injectmaid;
 import de.quantummaid.injectmaid.api.AbstractInjectorBuilder;
 import de.quantummaid.injectmaid.api.InjectorConfiguration;
 import de.quantummaid.injectmaid.api.ReusePolicy;
+import de.quantummaid.injectmaid.api.ScopeLeakListener;
 import de.quantummaid.injectmaid.api.SingletonType;
-import de.quantummaid.injectmaid.api.customtype.CustomTypeInstantiator;
 import de.quantummaid.injectmaid.api.customtype.api.CustomType;
 import de.quantummaid.injectmaid.api.customtype.api.CustomTypeData;
 import de.quantummaid.injectmaid.api.interception.InterceptorFactory;
 import de.quantummaid.injectmaid.api.interception.timing.ScopeEntryTimingInterceptorFactory;
 import de.quantummaid.injectmaid.api.interception.timing.TimingInterceptorFactory;
 import de.quantummaid.injectmaid.instantiator.BindInstantiator;
+import de.quantummaid.injectmaid.instantiator.CustomInstantiatorFactory;
 import de.quantummaid.injectmaid.instantiator.Instantiator;
+import de.quantummaid.injectmaid.instantiator.InstantiatorBackend;
 import de.quantummaid.injectmaid.lifecyclemanagement.LifecycleManager;
+import de.quantummaid.injectmaid.lifecyclemanagement.ParallelClose;
 import de.quantummaid.injectmaid.lifecyclemanagement.closer.CloseFunction;
 import de.quantummaid.injectmaid.lifecyclemanagement.closer.Closer;
+import de.quantummaid.injectmaid.lifecyclemanagement.closer.Closers;
+import de.quantummaid.injectmaid.snapshot.BuildSnapshot;
 import de.quantummaid.injectmaid.statemachine.*;
 import de.quantummaid.reflectmaid.GenericType;
 import de.quantummaid.reflectmaid.ReflectMaid;
@@ -49,37 +54,53 @@ import de.quantummaid.reflectmaid.typescanner.factories.StateFactory;
 import de.quantummaid.reflectmaid.typescanner.factories.UndetectedFactory;
 import de.quantummaid.reflectmaid.typescanner.scopes.Scope;
 import de.quantummaid.reflectmaid.typescanner.signals.Signal;
+import de.quantummaid.reflectmaid.typescanner.states.Detector;
 import de.quantummaid.reflectmaid.typescanner.states.RequirementsDescriber;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
+import static de.quantummaid.injectmaid.ChildScopes.childScopes;
+import static de.quantummaid.injectmaid.ChildScopes.weaklyTrackedChildScopes;
+import static de.quantummaid.injectmaid.Definition.definition;
 import static de.quantummaid.injectmaid.Definitions.definitions;
 import static de.quantummaid.injectmaid.InjectMaid.injectMaid;
 import static de.quantummaid.injectmaid.InjectMaidException.injectMaidException;
 import static de.quantummaid.injectmaid.Requirements.REGISTERED;
 import static de.quantummaid.injectmaid.Scopes.scopes;
 import static de.quantummaid.injectmaid.api.ReusePolicy.PROTOTYPE;
+import static de.quantummaid.injectmaid.api.customtype.AsyncCustomTypeInstantiator.asyncCustomTypeInstantiator;
 import static de.quantummaid.injectmaid.api.customtype.CustomTypeInstantiator.customTypeInstantiator;
 import static de.quantummaid.injectmaid.api.interception.timing.ScopeEntryTimingInterceptorFactory.scopeEntryTimingInterceptorFactory;
 import static de.quantummaid.injectmaid.api.interception.timing.TimingInterceptorFactory.timingInterceptorFactory;
+import static de.quantummaid.injectmaid.circledetector.CircularDependencyDetector.validateNoCircularDependencies;
 import static de.quantummaid.injectmaid.instantiator.BindInstantiator.bindInstantiator;
 import static de.quantummaid.injectmaid.instantiator.CustomInstantiatorFactory.customInstantiatorFactory;
+import static de.quantummaid.injectmaid.instantiator.InstantiatorBackend.reflectiveInstantiatorBackend;
 import static de.quantummaid.injectmaid.instantiator.ScopeInstantiator.scopeInstantiator;
+import static de.quantummaid.injectmaid.instantiator.generated.GeneratedInstantiatorBackend.generatedInstantiatorBackend;
 import static de.quantummaid.injectmaid.lifecyclemanagement.NoOpLifecycleManager.noOpLifecycleManager;
+import static de.quantummaid.injectmaid.lifecyclemanagement.ParallelClose.parallelClose;
 import static de.quantummaid.injectmaid.lifecyclemanagement.RealLifecycleManager.realLifecycleManager;
 import static de.quantummaid.injectmaid.lifecyclemanagement.closer.Closer.closer;
 import static de.quantummaid.injectmaid.lifecyclemanagement.closer.Closers.closers;
+import static de.quantummaid.injectmaid.snapshot.BuildSnapshot.snapshotOf;
 import static de.quantummaid.injectmaid.statemachine.FactoryMapper.factoryMapper;
 import static de.quantummaid.injectmaid.statemachine.InjectMaidDetector.injectMaidDetector;
 import static de.quantummaid.injectmaid.statemachine.InjectMaidOnCollectionError.injectMaidOnCollectionError;
 import static de.quantummaid.injectmaid.statemachine.InjectMaidResolver.injectMaidResolver;
+import static de.quantummaid.injectmaid.statemachine.ParallelDetector.parallelDetector;
 import static de.quantummaid.injectmaid.statemachine.ReusePolicyMapper.reusePolicyMapper;
+import static de.quantummaid.injectmaid.statemachine.TypeAndScope.typeAndScope;
 import static de.quantummaid.injectmaid.validators.NotNullValidator.validateNotNull;
 import static de.quantummaid.reflectmaid.typescanner.Processor.processor;
 import static de.quantummaid.reflectmaid.typescanner.Reason.manuallyAdded;
@@ -107,6 +128,13 @@ public final class InjectMaidBuilder implements AbstractInjectorBuilder<InjectMa
     private boolean lifecycleManagement = false;
     private final List<Closer> closers = new ArrayList<>();
     private final List<InterceptorFactory> interceptorFactories;
+    private ScopeLeakListener scopeLeakListener;
+    private InstantiatorBackend instantiatorBackend = reflectiveInstantiatorBackend();
+    private Executor singletonInitializationExecutor;
+    private BuildSnapshot snapshot;
+    private Executor buildExecutor;
+    private Executor asyncInstantiationExecutor = ForkJoinPool.commonPool();
+    private ParallelClose parallelClose;
 
     static InjectMaidBuilder injectMaidBuilder(final ReflectMaid reflectMaid) {
         final Scope scope = rootScope();
@@ -145,7 +173,7 @@ public final class InjectMaidBuilder implements AbstractInjectorBuilder<InjectMa
                 reflectMaid, this, signals, stateFactoryMap, factoryMapper, reusePolicyMapper, subScope, scopes, interceptorFactories);
         scopedBuilder.lifecycleManagement = lifecycleManagement;
         if (!scopes.contains(subScope)) {
-            scopedBuilder.withInstantiator(scopeType, scopeInstantiator(scopeType), DEFAULT_REUSE_POLICY);
+            scopedBuilder.withInstantiator(scopeType, scopeInstantiator(scopeType, subScope.size()), DEFAULT_REUSE_POLICY);
         }
         scopes.add(subScope);
         configuration.apply(scopedBuilder);
@@ -216,10 +244,12 @@ public final class InjectMaidBuilder implements AbstractInjectorBuilder<InjectMa
                 .map(reflectMaid::resolve)
                 .map(TypeIdentifier::typeIdentifierFor)
                 .collect(toList());
-        final CustomTypeInstantiator instantiator = customTypeInstantiator(
-                dependencies,
-                customTypeData.invocableFactory()
-        );
+        final Instantiator instantiator;
+        if (customTypeData.isAsynchronous()) {
+            instantiator = asyncCustomTypeInstantiator(dependencies, customTypeData.invocableFactory());
+        } else {
+            instantiator = customTypeInstantiator(dependencies, customTypeData.invocableFactory());
+        }
         final ResolvedType resolvedType = reflectMaid.resolve(type);
         return withInstantiator(resolvedType, instantiator, reusePolicy);
     }
@@ -277,39 +307,108 @@ public final class InjectMaidBuilder implements AbstractInjectorBuilder<InjectMa
         return this;
     }
 
+    public InjectMaidBuilder trackingLeakedScopes(final ScopeLeakListener scopeLeakListener) {
+        validateNotNull(scopeLeakListener, "scopeLeakListener");
+        this.scopeLeakListener = scopeLeakListener;
+        return this;
+    }
+
+    public InjectMaidBuilder usingSnapshot(final BuildSnapshot snapshot) {
+        validateNotNull(snapshot, "snapshot");
+        this.snapshot = snapshot;
+        return this;
+    }
+
+    public InjectMaidBuilder initializingSingletonsInParallel() {
+        return initializingSingletonsInParallel(ForkJoinPool.commonPool());
+    }
+
+    public InjectMaidBuilder initializingSingletonsInParallel(final Executor executor) {
+        validateNotNull(executor, "executor");
+        singletonInitializationExecutor = executor;
+        return this;
+    }
+
+    public InjectMaidBuilder closingInParallel(final Duration perInstanceTimeout,
+                                               final Duration globalTimeout) {
+        return closingInParallel(ForkJoinPool.commonPool(), perInstanceTimeout, globalTimeout);
+    }
+
+    public InjectMaidBuilder closingInParallel(final Executor executor,
+                                               final Duration perInstanceTimeout,
+                                               final Duration globalTimeout) {
+        parallelClose = parallelClose(executor, perInstanceTimeout, globalTimeout);
+        return this;
+    }
+
+    public InjectMaidBuilder instantiatingAsynchronouslyOn(final Executor executor) {
+        validateNotNull(executor, "executor");
+        asyncInstantiationExecutor = executor;
+        return this;
+    }
+
+    public InjectMaidBuilder buildingInParallel() {
+        return buildingInParallel(ForkJoinPool.commonPool());
+    }
+
+    public InjectMaidBuilder buildingInParallel(final Executor executor) {
+        validateNotNull(executor, "executor");
+        buildExecutor = executor;
+        return this;
+    }
+
+    public InjectMaidBuilder usingGeneratedInstantiators() {
+        instantiatorBackend = generatedInstantiatorBackend();
+        return this;
+    }
+
     public ReflectMaid reflectMaid() {
         return reflectMaid;
     }
 
-    public InjectMaid build() {
-        final StateFactories<InjectMaidTypeScannerResult> stateFactories = new StateFactories<>(stateFactoryMap, new UndetectedFactory<>());
-        final Processor<InjectMaidTypeScannerResult> processor = processor(
-                stateFactories,
-                List.of(REGISTERED),
-                emptyList()
-        );
-        final InjectMaidDetector detector = injectMaidDetector(factoryMapper, reusePolicyMapper);
-        final InjectMaidResolver resolver = injectMaidResolver();
-        final OnCollectionError<InjectMaidTypeScannerResult> onCollectionError = injectMaidOnCollectionError();
-        final RequirementsDescriber requirementsDescriber = detectionRequirements -> "registered";
-        signals.forEach(processor::dispatch);
-        final Map<TypeIdentifier, Map<Scope, CollectionResult<InjectMaidTypeScannerResult>>> definitionsMap =
-                processor.collect(detector, resolver, onCollectionError, requirementsDescriber);
+    public BuildSnapshot buildSnapshot() {
+        final List<Definition> scannedDefinitions = scanDefinitions();
+        validateNoCircularDependencies(definitions(scopes.asList(), scannedDefinitions));
+        return snapshotOf(scannedDefinitions);
+    }
 
-        final Definitions definitions = definitions(scopes.asList(), definitionsMap);
+    public InjectMaid build() {
+        final Definitions definitions;
+        if (snapshot == null) {
+            definitions = definitions(scopes.asList(), scanDefinitions(), instantiatorBackend);
+            validateNoCircularDependencies(definitions);
+        } else {
+            final List<Definition> restoredDefinitions = snapshot.restoreDefinitions(
+                    reflectMaid, scopes.asList(), configuredDefinitions(), reusePolicyMapper.registeredReusePolicies());
+            definitions = definitions(scopes.asList(), restoredDefinitions, instantiatorBackend);
+        }
         final LifecycleManager lifecycleManager;
         if (lifecycleManagement || !closers.isEmpty()) {
             closers.add(closer(AutoCloseable.class, AutoCloseable::close));
-            lifecycleManager = realLifecycleManager(closers(this.closers), scope);
+            final Closers compiledClosers = closers(this.closers);
+            lifecycleManager = realLifecycleManager(compiledClosers, definitions.resolutionTable(scope),
+                    definitions.typeIdsMatching(compiledClosers::canClose), parallelClose);
         } else {
+            if (parallelClose != null) {
+                throw injectMaidException("can only close in parallel if lifecycle management is activated");
+            }
             lifecycleManager = noOpLifecycleManager();
         }
+        final ChildScopes childScopes;
+        if (scopeLeakListener == null) {
+            childScopes = childScopes();
+        } else {
+            childScopes = weaklyTrackedChildScopes(scopeLeakListener);
+        }
         final InjectMaid injectMaid = injectMaid(
                 reflectMaid,
                 definitions,
                 defaultSingletonType,
+                singletonInitializationExecutor,
+                asyncInstantiationExecutor,
                 lifecycleManager,
-                interceptorFactories
+                interceptorFactories,
+                childScopes
         );
         if (registerShutdownHook) {
             if (!lifecycleManagement) {
@@ -319,4 +418,59 @@ public final class InjectMaidBuilder implements AbstractInjectorBuilder<InjectMa
         }
         return injectMaid;
     }
+
+    private List<Definition> scanDefinitions() {
+        final StateFactories<InjectMaidTypeScannerResult> stateFactories = new StateFactories<>(stateFactoryMap, new UndetectedFactory<>());
+        final Processor<InjectMaidTypeScannerResult> processor = processor(
+                stateFactories,
+                List.of(REGISTERED),
+                emptyList()
+        );
+        final InjectMaidDetector injectMaidDetector = injectMaidDetector(factoryMapper, reusePolicyMapper);
+        final Detector<InjectMaidTypeScannerResult> detector;
+        if (buildExecutor == null) {
+            detector = injectMaidDetector;
+        } else {
+            detector = parallelDetectorFor(injectMaidDetector);
+        }
+        final InjectMaidResolver resolver = injectMaidResolver();
+        final OnCollectionError<InjectMaidTypeScannerResult> onCollectionError = injectMaidOnCollectionError();
+        final RequirementsDescriber requirementsDescriber = detectionRequirements -> "registered";
+        signals.forEach(processor::dispatch);
+        final Map<TypeIdentifier, Map<Scope, CollectionResult<InjectMaidTypeScannerResult>>> definitionsMap =
+                processor.collect(detector, resolver, onCollectionError, requirementsDescriber);
+        return definitionsMap.values().stream()
+                .flatMap(byScope -> byScope.values().stream())
+                .map(CollectionResult::getDefinition)
+                .map(InjectMaidTypeScannerResult::toDefinition)
+                .collect(toList());
+    }
+
+    private ParallelDetector parallelDetectorFor(final InjectMaidDetector injectMaidDetector) {
+        final Set<TypeAndScope> configuredTypes = new HashSet<>();
+        stateFactoryMap.forEach((factoryScope, factories) -> factories.stream()
+                .filter(CustomInstantiatorFactory.class::isInstance)
+                .map(CustomInstantiatorFactory.class::cast)
+                .forEach(factory -> configuredTypes.add(typeAndScope(factory.typeIdentifier(), factoryScope))));
+        final ParallelDetector parallelDetector = parallelDetector(
+                injectMaidDetector, buildExecutor, reusePolicyMapper.registeredTypes(), configuredTypes);
+        reusePolicyMapper.registeredTypes().stream()
+                .filter(registeredType -> !configuredTypes.contains(registeredType))
+                .forEach(registeredType -> parallelDetector.prefetch(registeredType.typeIdentifier(), registeredType.scope()));
+        return parallelDetector;
+    }
+
+    private List<Definition> configuredDefinitions() {
+        final List<Definition> configuredDefinitions = new ArrayList<>();
+        stateFactoryMap.forEach((factoryScope, factories) -> factories.forEach(factory -> {
+            if (!(factory instanceof CustomInstantiatorFactory)) {
+                throw injectMaidException("snapshots do not support custom state factories");
+            }
+            final CustomInstantiatorFactory customInstantiatorFactory = (CustomInstantiatorFactory) factory;
+            final TypeIdentifier type = customInstantiatorFactory.typeIdentifier();
+            final ReusePolicy reusePolicy = reusePolicyMapper.reusePolicyFor(type, factoryScope);
+            configuredDefinitions.add(definition(type, factoryScope, customInstantiatorFactory.instantiator(), reusePolicy));
+        }));
+        return configuredDefinitions;
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid;
+
+import de.quantummaid.injectmaid.api.Injector;
+import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A type that has been resolved once against the definitions of an {@link InjectMaid}.
+ * Hot call sites can keep the handle and obtain instances from the {@link InjectMaid}
+ * or any of its scopes without resolving the type again.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class InstanceHandle<T> {
+    private final Definitions definitions;
+    private final TypeIdentifier type;
+    private final int typeId;
+
+    static <T> InstanceHandle<T> instanceHandle(final Definitions definitions,
+                                                final TypeIdentifier type,
+                                                final int typeId) {
+        return new InstanceHandle<>(definitions, type, typeId);
+    }
+
+    public T get(final Injector injector) {
+        if (injector instanceof InjectMaid) {
+            return ((InjectMaid) injector).getInstance(this);
+        }
+        return injector.getInstance(type);
+    }
+
+    public TypeIdentifier type() {
+        return type;
+    }
+
+    boolean belongsTo(final Definitions definitions) {
+        return this.definitions == definitions;
+    }
+
+    int typeId() {
+        return typeId;
+    }
+
+    @Override
+    public String toString() {
+        return "InstanceHandle(" + type.description() + ")";
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid;
+
+import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import static de.quantummaid.injectmaid.InjectMaidException.injectMaidException;
+
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class ParallelSingletonInitializer {
+    private static final CompletableFuture<Void> NOTHING_TO_AWAIT = CompletableFuture.completedFuture(null);
+
+    private final ResolutionTable resolutionTable;
+    private final Set<Definition> selected;
+    private final Executor executor;
+    private final Consumer<Definition> initializer;
+    private final Map<Definition, CompletableFuture<Void>> scheduled = new LinkedHashMap<>();
+    private final Map<Definition, CompletableFuture<Void>> completions = new IdentityHashMap<>();
+
+    static void initializeInParallel(final List<Definition> definitions,
+                                     final ResolutionTable resolutionTable,
+                                     final Executor executor,
+                                     final Consumer<Definition> initializer) {
+        final Set<Definition> selected = Collections.newSetFromMap(new IdentityHashMap<>());
+        selected.addAll(definitions);
+        final ParallelSingletonInitializer parallelSingletonInitializer =
+                new ParallelSingletonInitializer(resolutionTable, selected, executor, initializer);
+        definitions.forEach(parallelSingletonInitializer::schedule);
+        parallelSingletonInitializer.awaitAll();
+    }
+
+    /**
+     * Walks the dependencies of {@code root} depth-first without recursion and assigns every visited definition
+     * a completion. Selected definitions complete once they have been initialized after their dependencies,
+     * all other definitions complete once their own dependencies did. Completions are shared across calls,
+     * so every dependency edge is traversed only once per initialization.
+     */
+    private void schedule(final Definition root) {
+        if (completions.containsKey(root)) {
+            return;
+        }
+        final Set<Definition> inProgress = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<Frame> pending = new ArrayDeque<>();
+        inProgress.add(root);
+        pending.push(new Frame(root));
+        while (!pending.isEmpty()) {
+            final Frame current = pending.peek();
+            final Definition dependency = nextDependency(current);
+            if (dependency == null) {
+                pending.pop();
+                final CompletableFuture<Void> completion = complete(current);
+                completions.put(current.definition, completion);
+                if (!pending.isEmpty()) {
+                    pending.peek().prerequisites.add(completion);
+                }
+                continue;
+            }
+            final CompletableFuture<Void> completion = completions.get(dependency);
+            if (completion != null) {
+                current.prerequisites.add(completion);
+            } else if (inProgress.add(dependency)) {
+                pending.push(new Frame(dependency));
+            }
+        }
+    }
+
+    private Definition nextDependency(final Frame frame) {
+        final List<TypeIdentifier> dependencyTypes = frame.definition.instantiator().dependencies();
+        final int[] dependencyIds = frame.definition.dependencyIds();
+        while (frame.nextDependency < dependencyIds.length) {
+            final int index = frame.nextDependency++;
+            final TypeIdentifier dependencyType = dependencyTypes.get(index);
+            if (resolutionTable.hasDefinitionFor(dependencyType)) {
+                return resolutionTable.definitionFor(dependencyIds[index], dependencyType);
+            }
+        }
+        return null;
+    }
+
+    private CompletableFuture<Void> complete(final Frame frame) {
+        final List<CompletableFuture<Void>> prerequisites = frame.prerequisites;
+        final CompletableFuture<Void> dependenciesDone;
+        if (prerequisites.isEmpty()) {
+            dependenciesDone = NOTHING_TO_AWAIT;
+        } else if (prerequisites.size() == 1) {
+            dependenciesDone = prerequisites.get(0);
+        } else {
+            dependenciesDone = CompletableFuture.allOf(prerequisites.toArray(CompletableFuture[]::new));
+        }
+        final Definition definition = frame.definition;
+        if (!selected.contains(definition)) {
+            return dependenciesDone;
+        }
+        final CompletableFuture<Void> future = dependenciesDone.thenRunAsync(() -> initializer.accept(definition), executor);
+        scheduled.put(definition, future);
+        return future;
+    }
+
+    private void awaitAll() {
+        for (final CompletableFuture<Void> future : scheduled.values()) {
+            try {
+                future.join();
+            } catch (final CompletionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw injectMaidException("Exception during parallel singleton initialization", cause);
+            }
+        }
+    }
+
+    private static final class Frame {
+        private final Definition definition;
+        private final List<CompletableFuture<Void>> prerequisites = new ArrayList<>();
+        private int nextDependency;
+
+        Frame(final Definition definition) {
+            this.definition = definition;
+        }
+    }
+}
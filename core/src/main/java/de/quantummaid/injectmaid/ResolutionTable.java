@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid;
+
+import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
+import de.quantummaid.reflectmaid.typescanner.scopes.Scope;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static de.quantummaid.injectmaid.InjectMaidException.injectMaidException;
+import static java.lang.String.format;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ResolutionTable {
+    private static final int UNREGISTERED = -1;
+    private static final int UNKNOWN_DEPTH = -1;
+    private static final int DEPTH_IN_PROGRESS = -2;
+    private static final int[] NO_DEPENDENCIES = new int[0];
+
+    private final Scope scope;
+    private final int scopeId;
+    private final int singletonSlots;
+    private final Map<TypeIdentifier, Integer> typeIds;
+    private final Definition[] definitionsByTypeId;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile int[] dependencyDepths;
+
+    static ResolutionTable resolutionTable(final Scope scope,
+                                           final int scopeId,
+                                           final int singletonSlots,
+                                           final Map<TypeIdentifier, Integer> typeIds,
+                                           final Map<TypeIdentifier, List<Definition>> definitions) {
+        final Definition[] definitionsByTypeId = new Definition[typeIds.size()];
+        definitions.forEach((type, candidates) -> {
+            final Definition mostSpecificDefinition = mostSpecificDefinition(candidates, scope);
+            if (mostSpecificDefinition != null) {
+                definitionsByTypeId[typeIds.get(type)] = mostSpecificDefinition;
+            }
+        });
+        return new ResolutionTable(scope, scopeId, singletonSlots, typeIds, definitionsByTypeId);
+    }
+
+    private static Definition mostSpecificDefinition(final List<Definition> candidates,
+                                                     final Scope scope) {
+        Definition mostSpecificDefinition = null;
+        for (final Definition candidate : candidates) {
+            final Scope candidateScope = candidate.scope();
+            if (!candidateScope.contains(scope)) {
+                continue;
+            }
+            if (mostSpecificDefinition == null || candidateScope.size() > mostSpecificDefinition.scope().size()) {
+                mostSpecificDefinition = candidate;
+            }
+        }
+        return mostSpecificDefinition;
+    }
+
+    public int typeId(final TypeIdentifier type) {
+        final Integer typeId = typeIds.get(type);
+        if (typeId == null) {
+            return UNREGISTERED;
+        }
+        return typeId;
+    }
+
+    public boolean hasDefinitionFor(final TypeIdentifier type) {
+        final int typeId = typeId(type);
+        return typeId != UNREGISTERED && definitionsByTypeId[typeId] != null;
+    }
+
+    public Definition definitionFor(final TypeIdentifier type) {
+        return definitionFor(typeId(type), type);
+    }
+
+    public Definition definitionFor(final int typeId, final TypeIdentifier type) {
+        if (typeId == UNREGISTERED) {
+            throw injectMaidException(format("Cannot instantiate unregistered type '%s'", type.description()));
+        }
+        final Definition definition = definitionsByTypeId[typeId];
+        if (definition == null) {
+            throw injectMaidException(format("Tried to instantiate unregistered type '%s'", type.description()));
+        }
+        return definition;
+    }
+
+    public Scope scope() {
+        return scope;
+    }
+
+    public int scopeId() {
+        return scopeId;
+    }
+
+    public int singletonSlots() {
+        return singletonSlots;
+    }
+
+    public int typeCount() {
+        return definitionsByTypeId.length;
+    }
+
+    /**
+     * The length of the longest dependency chain below the given type in this scope, 0 for types without dependencies.
+     * A type always has a greater depth than every type it (transitively) depends on.
+     */
+    public int dependencyDepth(final int typeId) {
+        int[] depths = dependencyDepths;
+        if (depths == null) {
+            depths = computeDependencyDepths();
+            dependencyDepths = depths;
+        }
+        return depths[typeId];
+    }
+
+    /**
+     * Marks the ids of all types the given type (transitively) depends on in this scope.
+     */
+    public void markDependenciesOf(final int typeId, final boolean[] markedTypeIds) {
+        final int[] pending = new int[definitionsByTypeId.length + 1];
+        int top = 0;
+        pending[0] = typeId;
+        while (top >= 0) {
+            final Definition definition = definitionsByTypeId[pending[top--]];
+            if (definition == null) {
+                continue;
+            }
+            for (final int dependencyId : definition.dependencyIds()) {
+                if (dependencyId != UNREGISTERED && !markedTypeIds[dependencyId]) {
+                    markedTypeIds[dependencyId] = true;
+                    pending[++top] = dependencyId;
+                }
+            }
+        }
+    }
+
+    private int[] computeDependencyDepths() {
+        final int[] depths = new int[definitionsByTypeId.length];
+        Arrays.fill(depths, UNKNOWN_DEPTH);
+        final int[] typeStack = new int[definitionsByTypeId.length];
+        final int[] dependencyIndexStack = new int[definitionsByTypeId.length];
+        for (int root = 0; root < definitionsByTypeId.length; ++root) {
+            if (depths[root] != UNKNOWN_DEPTH) {
+                continue;
+            }
+            int top = 0;
+            typeStack[0] = root;
+            dependencyIndexStack[0] = 0;
+            depths[root] = DEPTH_IN_PROGRESS;
+            while (top >= 0) {
+                final int typeId = typeStack[top];
+                final Definition definition = definitionsByTypeId[typeId];
+                final int[] dependencyIds = definition == null ? NO_DEPENDENCIES : definition.dependencyIds();
+                final int index = dependencyIndexStack[top];
+                if (index < dependencyIds.length) {
+                    dependencyIndexStack[top] = index + 1;
+                    final int dependencyId = dependencyIds[index];
+                    if (dependencyId != UNREGISTERED && depths[dependencyId] == UNKNOWN_DEPTH) {
+                        depths[dependencyId] = DEPTH_IN_PROGRESS;
+                        ++top;
+                        typeStack[top] = dependencyId;
+                        dependencyIndexStack[top] = 0;
+                    }
+                    continue;
+                }
+                int depth = 0;
+                for (final int dependencyId : dependencyIds) {
+                    if (dependencyId != UNREGISTERED && depths[dependencyId] >= 0) {
+                        depth = Math.max(depth, depths[dependencyId] + 1);
+                    }
+                }
+                depths[typeId] = depth;
+                --top;
+            }
+        }
+        return depths;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid;
+
+import de.quantummaid.injectmaid.api.SingletonType;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class ScopeDefinitions {
+    private final List<Definition> definitions;
+    private final List<Definition> singletons;
+    private final List<Definition> eagerSingletonsWhenLazyByDefault;
+    private final List<Definition> eagerSingletonsWhenEagerByDefault;
+
+    static ScopeDefinitions scopeDefinitions(final List<Definition> definitions) {
+        final List<Definition> singletons = new ArrayList<>();
+        final List<Definition> eagerSingletonsWhenLazyByDefault = new ArrayList<>();
+        final List<Definition> eagerSingletonsWhenEagerByDefault = new ArrayList<>();
+        for (final Definition definition : definitions) {
+            if (definition.isSingleton()) {
+                singletons.add(definition);
+            }
+            if (definition.isEagerSingleton(SingletonType.LAZY)) {
+                eagerSingletonsWhenLazyByDefault.add(definition);
+            }
+            if (definition.isEagerSingleton(SingletonType.EAGER)) {
+                eagerSingletonsWhenEagerByDefault.add(definition);
+            }
+        }
+        return new ScopeDefinitions(
+                unmodifiableList(definitions),
+                unmodifiableList(singletons),
+                unmodifiableList(eagerSingletonsWhenLazyByDefault),
+                unmodifiableList(eagerSingletonsWhenEagerByDefault)
+        );
+    }
+
+    List<Definition> definitions() {
+        return definitions;
+    }
+
+    List<Definition> singletons() {
+        return singletons;
+    }
+
+    List<Definition> eagerSingletons(final SingletonType defaultSingletonType) {
+        if (defaultSingletonType == SingletonType.EAGER) {
+            return eagerSingletonsWhenEagerByDefault;
+        }
+        return eagerSingletonsWhenLazyByDefault;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid;
+
+import de.quantummaid.injectmaid.api.Injector;
+import de.quantummaid.reflectmaid.GenericType;
+import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static de.quantummaid.injectmaid.api.CurrentInjector.callWithInjector;
+import static de.quantummaid.injectmaid.validators.NotNullValidator.validateNotNull;
+import static de.quantummaid.reflectmaid.GenericType.genericType;
+import static de.quantummaid.reflectmaid.typescanner.TypeIdentifier.typeIdentifierFor;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+/**
+ * Runs a task per submitted scope object on an {@link Executor}. Every task gets its own scope, entered
+ * through the scope template resolved when the executor was created, and the scope is closed when the task ends.
+ * Works with platform thread pools as well as virtual-thread-per-task executors.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ScopeEnteringExecutor<S, R> {
+    private final InjectMaid injectMaid;
+    private final TypeIdentifier scopeType;
+    private final ScopeTemplate scopeTemplate;
+    private final Function<Injector, R> task;
+    private final Executor executor;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger liveScopes = new AtomicInteger();
+
+    public static <S, R> ScopeEnteringExecutor<S, R> scopeEnteringExecutor(final InjectMaid injectMaid,
+                                                                          final Class<S> scopeType,
+                                                                          final Function<Injector, R> task,
+                                                                          final Executor executor) {
+        validateNotNull(scopeType, "scopeType");
+        return scopeEnteringExecutor(injectMaid, genericType(scopeType), task, executor);
+    }
+
+    public static <S, R> ScopeEnteringExecutor<S, R> scopeEnteringExecutor(final InjectMaid injectMaid,
+                                                                          final GenericType<S> scopeType,
+                                                                          final Function<Injector, R> task,
+                                                                          final Executor executor) {
+        validateNotNull(injectMaid, "injectMaid");
+        validateNotNull(scopeType, "scopeType");
+        validateNotNull(task, "task");
+        validateNotNull(executor, "executor");
+        final TypeIdentifier typeIdentifier = typeIdentifierFor(injectMaid.reflectMaid().resolve(scopeType));
+        final ScopeTemplate scopeTemplate = injectMaid.childTemplateFor(typeIdentifier);
+        return new ScopeEnteringExecutor<>(injectMaid, typeIdentifier, scopeTemplate, task, executor);
+    }
+
+    public CompletableFuture<R> submit(final S scopeObject) {
+        queueDepth.incrementAndGet();
+        try {
+            return supplyAsync(() -> {
+                queueDepth.decrementAndGet();
+                return runInScope(scopeObject);
+            }, executor);
+        } catch (final RejectedExecutionException e) {
+            queueDepth.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private R runInScope(final S scopeObject) {
+        final InjectMaid scopedInjectMaid = injectMaid.enterChildScope(scopeTemplate, scopeType, scopeObject);
+        liveScopes.incrementAndGet();
+        try {
+            return callWithInjector(scopedInjectMaid, () -> task.apply(scopedInjectMaid));
+        } finally {
+            try {
+                scopedInjectMaid.close();
+            } finally {
+                liveScopes.decrementAndGet();
+            }
+        }
+    }
+
+    public int queueDepth() {
+        return queueDepth.get();
+    }
+
+    public int liveScopes() {
+        return liveScopes.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ScopeEnteringExecutor(" + scopeType.description() + ")";
+    }
+}
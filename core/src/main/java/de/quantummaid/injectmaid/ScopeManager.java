@@ -27,26 +27,49 @@ import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
-import java.util.HashMap;
-import java.util.Map;
-
+/**
+ * Holds the scope object of one scope level and links to the scope manager of the enclosing scope.
+ * Scope objects are addressed by the depth of the scope they belong to, with the root scope at depth 0.
+ */
 @ToString
 @EqualsAndHashCode
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public final class ScopeManager {
-    private final Map<TypeIdentifier, Object> scopeObjects;
+    private static final ScopeManager ROOT_SCOPE_MANAGER = new ScopeManager(null, null, null, 0);
+
+    private final ScopeManager parent;
+    private final TypeIdentifier type;
+    private final Object scopeObject;
+    private final int depth;
 
     public static ScopeManager scopeManager() {
-        return new ScopeManager(new HashMap<>());
+        return ROOT_SCOPE_MANAGER;
     }
 
     public ScopeManager add(final TypeIdentifier type, final Object object) {
-        final Map<TypeIdentifier, Object> newScopeObjects = new HashMap<>(scopeObjects);
-        newScopeObjects.put(type, object);
-        return new ScopeManager(newScopeObjects);
+        return new ScopeManager(this, type, object, depth + 1);
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    public Object getScopeObject(final int scopeDepth) {
+        ScopeManager current = this;
+        while (current.depth > scopeDepth) {
+            current = current.parent;
+        }
+        return current.scopeObject;
     }
 
     public Object getScopeObject(final TypeIdentifier type) {
-        return scopeObjects.get(type);
+        ScopeManager current = this;
+        while (current.parent != null) {
+            if (current.type.equals(type)) {
+                return current.scopeObject;
+            }
+            current = current.parent;
+        }
+        return null;
     }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid;
+
+import de.quantummaid.injectmaid.api.SingletonType;
+import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
+import de.quantummaid.reflectmaid.typescanner.scopes.Scope;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+import static de.quantummaid.reflectmaid.typescanner.scopes.Scope.rootScope;
+
+/**
+ * Everything about a declared scope that does not depend on the scope object, compiled once
+ * when the {@link InjectMaid} is built so that entering the scope does not have to look at
+ * the definitions again.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class ScopeTemplate {
+    private final Scope scope;
+    private final String description;
+    private final ResolutionTable resolutionTable;
+    private final List<Definition> singletons;
+    private final List<Definition> eagerSingletons;
+    private final Map<TypeIdentifier, ScopeTemplate> childTemplates;
+    private final boolean mayNeedClosing;
+
+    static ScopeTemplate rootScopeTemplate(final Definitions definitions,
+                                           final SingletonType defaultSingletonType,
+                                           final IntPredicate closeableTypeIds) {
+        return scopeTemplate(rootScope(), definitions, defaultSingletonType, closeableTypeIds);
+    }
+
+    private static ScopeTemplate scopeTemplate(final Scope scope,
+                                               final Definitions definitions,
+                                               final SingletonType defaultSingletonType,
+                                               final IntPredicate closeableTypeIds) {
+        final Map<TypeIdentifier, ScopeTemplate> childTemplates = new HashMap<>();
+        for (final Scope candidate : definitions.allScopes()) {
+            if (candidate.size() != scope.size() + 1 || !scope.contains(candidate)) {
+                continue;
+            }
+            definitions.definitionsOnScope(candidate).stream()
+                    .map(Definition::type)
+                    .filter(type -> scope.childScope(type).equals(candidate))
+                    .findFirst()
+                    .ifPresent(scopeType -> childTemplates.put(
+                            scopeType, scopeTemplate(candidate, definitions, defaultSingletonType, closeableTypeIds)));
+        }
+        final boolean mayNeedClosing = definitions.definitionsOnScope(scope).stream()
+                .anyMatch(definition -> closeableTypeIds.test(definition.typeId())) ||
+                childTemplates.values().stream().anyMatch(ScopeTemplate::mayNeedClosing);
+        return new ScopeTemplate(
+                scope,
+                scope.render(),
+                definitions.resolutionTable(scope),
+                definitions.singletonsOnScope(scope),
+                definitions.eagerSingletonsOnScope(scope, defaultSingletonType),
+                childTemplates,
+                mayNeedClosing
+        );
+    }
+
+    ScopeTemplate childTemplate(final TypeIdentifier scopeType) {
+        return childTemplates.get(scopeType);
+    }
+
+    Scope scope() {
+        return scope;
+    }
+
+    String description() {
+        return description;
+    }
+
+    ResolutionTable resolutionTable() {
+        return resolutionTable;
+    }
+
+    List<Definition> singletons() {
+        return singletons;
+    }
+
+    List<Definition> eagerSingletons() {
+        return eagerSingletons;
+    }
+
+    /**
+     * Whether any instance defined in this scope or one of its nested scopes can need closing.
+     * Entered scopes for which this is not the case are not tracked for closing at all.
+     */
+    boolean mayNeedClosing() {
+        return mayNeedClosing;
+    }
+}
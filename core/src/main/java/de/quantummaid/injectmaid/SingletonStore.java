@@ -22,58 +22,186 @@
 package de.quantummaid.injectmaid;
 
 import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
-import de.quantummaid.reflectmaid.typescanner.scopes.Scope;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
 
-import static de.quantummaid.reflectmaid.typescanner.scopes.Scope.rootScope;
+import static de.quantummaid.injectmaid.InjectMaidException.injectMaidException;
+import static java.lang.String.format;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 
+/**
+ * Holds the singletons of one scope. Every store references itself and all of its ancestors
+ * by scope depth, so the store owning a singleton is found with a single array access.
+ */
 @ToString
 @EqualsAndHashCode
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public final class SingletonStore {
-    private final Scope scope;
-    private final SingletonStore parent;
-    private final Map<TypeIdentifier, Object> singletons;
+    private static final Object NULL_SINGLETON = new Object();
+
+    private final AtomicReferenceArray<Object>[] slotsByScopeDepth;
+
+    public static SingletonStore singletonStore(final ResolutionTable resolutionTable) {
+        final int depth = resolutionTable.scope().size();
+        final AtomicReferenceArray<Object>[] slotsByScopeDepth = newSlotsByScopeDepth(depth + 1);
+        slotsByScopeDepth[depth] = new AtomicReferenceArray<>(resolutionTable.singletonSlots());
+        return new SingletonStore(slotsByScopeDepth);
+    }
+
+    public SingletonStore child(final ResolutionTable childResolutionTable) {
+        final int depth = childResolutionTable.scope().size();
+        final AtomicReferenceArray<Object>[] childSlotsByScopeDepth = Arrays.copyOf(slotsByScopeDepth, depth + 1);
+        childSlotsByScopeDepth[depth] = new AtomicReferenceArray<>(childResolutionTable.singletonSlots());
+        return new SingletonStore(childSlotsByScopeDepth);
+    }
 
-    public static SingletonStore singletonStore() {
-        final Scope scope = rootScope();
-        return new SingletonStore(scope, null, new HashMap<>());
+    @SuppressWarnings("unchecked")
+    private static AtomicReferenceArray<Object>[] newSlotsByScopeDepth(final int length) {
+        return (AtomicReferenceArray<Object>[]) new AtomicReferenceArray<?>[length];
     }
 
-    public SingletonStore child(final TypeIdentifier scopeElement) {
-        final Scope childScope = this.scope.childScope(scopeElement);
-        return new SingletonStore(childScope, this, new HashMap<>());
+    Object getOrCreate(final Definition definition,
+                       final TypeIdentifier rootType,
+                       final SingletonFactory factory) {
+        final AtomicReferenceArray<Object> slots = slotsByScopeDepth[definition.scopeDepth()];
+        final int slot = definition.singletonSlot();
+        while (true) {
+            final Object current = slots.get(slot);
+            if (current == null) {
+                final PendingSingleton pendingSingleton = new PendingSingleton(Thread.currentThread());
+                if (slots.compareAndSet(slot, null, pendingSingleton)) {
+                    return create(slots, slot, pendingSingleton, definition, rootType, factory);
+                }
+            } else if (current instanceof PendingSingleton) {
+                final PendingSingleton pendingSingleton = (PendingSingleton) current;
+                if (pendingSingleton.owner == Thread.currentThread()) {
+                    throw requestedDuringOwnInstantiation(definition);
+                }
+                pendingSingleton.awaitCompletion();
+            } else {
+                return unmask(current);
+            }
+        }
+    }
+
+    CompletableFuture<Object> getOrCreateAsync(final Definition definition,
+                                               final TypeIdentifier rootType,
+                                               final AsyncSingletonFactory factory) {
+        final AtomicReferenceArray<Object> slots = slotsByScopeDepth[definition.scopeDepth()];
+        final int slot = definition.singletonSlot();
+        while (true) {
+            final Object current = slots.get(slot);
+            if (current == null) {
+                final PendingSingleton pendingSingleton = new PendingSingleton(null);
+                if (slots.compareAndSet(slot, null, pendingSingleton)) {
+                    return createAsync(slots, slot, pendingSingleton, definition, rootType, factory);
+                }
+            } else if (current instanceof PendingSingleton) {
+                final PendingSingleton pendingSingleton = (PendingSingleton) current;
+                if (pendingSingleton.owner == Thread.currentThread()) {
+                    throw requestedDuringOwnInstantiation(definition);
+                }
+                return pendingSingleton.future
+                        .thenCompose(ignored -> getOrCreateAsync(definition, rootType, factory));
+            } else {
+                return completedFuture(unmask(current));
+            }
+        }
     }
 
-    public boolean contains(final TypeIdentifier type,
-                            final Scope scope) {
-        if (!scope.equals(this.scope)) {
-            return parent.contains(type, scope);
+    private static CompletableFuture<Object> createAsync(final AtomicReferenceArray<Object> slots,
+                                                         final int slot,
+                                                         final PendingSingleton pendingSingleton,
+                                                         final Definition definition,
+                                                         final TypeIdentifier rootType,
+                                                         final AsyncSingletonFactory factory) {
+        final CompletableFuture<Object> instance;
+        try {
+            instance = factory.create(definition, rootType, pendingSingleton);
+        } catch (final RuntimeException | Error e) {
+            slots.set(slot, null);
+            pendingSingleton.future.complete(null);
+            throw e;
         }
-        return singletons.containsKey(type);
+        return instance.whenComplete((created, exception) -> {
+            if (exception == null) {
+                slots.set(slot, mask(created));
+            } else {
+                slots.set(slot, null);
+            }
+            pendingSingleton.future.complete(null);
+        });
     }
 
-    public Object get(final TypeIdentifier type,
-                      final Scope scope) {
-        if (!scope.equals(this.scope)) {
-            return parent.get(type, scope);
+    private static Object create(final AtomicReferenceArray<Object> slots,
+                                 final int slot,
+                                 final PendingSingleton pendingSingleton,
+                                 final Definition definition,
+                                 final TypeIdentifier rootType,
+                                 final SingletonFactory factory) {
+        final Object instance;
+        try {
+            instance = factory.create(definition, rootType);
+        } catch (final RuntimeException | Error e) {
+            slots.set(slot, null);
+            pendingSingleton.future.complete(null);
+            throw e;
         }
-        return singletons.get(type);
+        slots.set(slot, mask(instance));
+        pendingSingleton.future.complete(null);
+        return instance;
+    }
+
+    private static InjectMaidException requestedDuringOwnInstantiation(final Definition definition) {
+        return injectMaidException(format("Singleton '%s' has been requested during its own instantiation",
+                definition.type().description()));
     }
 
-    public void put(final TypeIdentifier type,
-                    final Scope scope,
-                    final Object object) {
-        if (!scope.equals(this.scope)) {
-            parent.put(type, scope, object);
-        } else {
-            singletons.put(type, object);
+    private static Object mask(final Object instance) {
+        if (instance == null) {
+            return NULL_SINGLETON;
+        }
+        return instance;
+    }
+
+    private static Object unmask(final Object instance) {
+        if (instance == NULL_SINGLETON) {
+            return null;
+        }
+        return instance;
+    }
+
+    /**
+     * The owner is the thread currently instantiating the singleton. Asynchronous instantiations only have one
+     * while their synchronous part runs on an executor thread.
+     */
+    private static final class PendingSingleton implements SingletonConstruction {
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private volatile Thread owner;
+
+        PendingSingleton(final Thread owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public CompletableFuture<Object> instantiate(final Supplier<CompletableFuture<Object>> instantiation) {
+            owner = Thread.currentThread();
+            try {
+                return instantiation.get();
+            } finally {
+                owner = null;
+            }
+        }
+
+        void awaitCompletion() {
+            future.join();
         }
     }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid;
+
+import de.quantummaid.reflectmaid.GenericType;
+import de.quantummaid.reflectmaid.ReflectMaid;
+import de.quantummaid.reflectmaid.resolvedtype.ResolvedType;
+import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static de.quantummaid.reflectmaid.GenericType.genericType;
+import static de.quantummaid.reflectmaid.typescanner.TypeIdentifier.typeIdentifierFor;
+
+/**
+ * Caches the resolution of public lookup keys to their {@link TypeIdentifier} and type id.
+ * Classes are cached in a {@link ClassValue} whose values only reference the resolved type,
+ * so a cached class never keeps the injector (or its class loader) reachable.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class TypeCache {
+    private static final int MAX_CACHED_GENERIC_TYPES = 1_024;
+
+    private final ReflectMaid reflectMaid;
+    private final ResolutionTable resolutionTable;
+    private final Map<GenericType<?>, CachedType> genericTypes = new ConcurrentHashMap<>();
+    private final ClassValue<CachedType> classes = new ClassValue<>() {
+        @Override
+        protected CachedType computeValue(final Class<?> type) {
+            return resolve(genericType(type));
+        }
+    };
+
+    static TypeCache typeCache(final ReflectMaid reflectMaid,
+                               final ResolutionTable resolutionTable) {
+        return new TypeCache(reflectMaid, resolutionTable);
+    }
+
+    CachedType cachedType(final Class<?> type) {
+        return classes.get(type);
+    }
+
+    CachedType cachedType(final GenericType<?> type) {
+        final CachedType cachedType = genericTypes.get(type);
+        if (cachedType != null) {
+            return cachedType;
+        }
+        final CachedType resolvedType = resolve(type);
+        if (genericTypes.size() < MAX_CACHED_GENERIC_TYPES) {
+            genericTypes.putIfAbsent(type, resolvedType);
+        }
+        return resolvedType;
+    }
+
+    private CachedType resolve(final GenericType<?> type) {
+        final ResolvedType resolvedType = reflectMaid.resolve(type);
+        final TypeIdentifier typeIdentifier = typeIdentifierFor(resolvedType);
+        return new CachedType(typeIdentifier, resolutionTable.typeId(typeIdentifier));
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    static final class CachedType {
+        private final TypeIdentifier type;
+        private final int typeId;
+
+        TypeIdentifier type() {
+            return type;
+        }
+
+        int typeId() {
+            return typeId;
+        }
+    }
+}
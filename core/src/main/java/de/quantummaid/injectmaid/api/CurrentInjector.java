@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.api;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static de.quantummaid.injectmaid.InjectMaidException.injectMaidException;
+import static de.quantummaid.injectmaid.validators.NotNullValidator.validateNotNull;
+
+/**
+ * Binds an {@link Injector} to the dynamic extent of a task, so code deep in the call stack can look up
+ * the injector of the current request instead of having it passed down.
+ * The binding lives in a thread local that is restored when the task ends. On virtual threads it is
+ * therefore bound to the virtual thread, never to its carrier.
+ */
+public final class CurrentInjector {
+    private static final ThreadLocal<Injector> CURRENT_INJECTOR = new ThreadLocal<>();
+
+    private CurrentInjector() {
+    }
+
+    public static Injector currentInjector() {
+        final Injector injector = CURRENT_INJECTOR.get();
+        if (injector == null) {
+            throw injectMaidException("No injector is bound to the current thread");
+        }
+        return injector;
+    }
+
+    public static Optional<Injector> currentInjectorIfBound() {
+        return Optional.ofNullable(CURRENT_INJECTOR.get());
+    }
+
+    public static void runWithInjector(final Injector injector, final Runnable task) {
+        validateNotNull(task, "task");
+        callWithInjector(injector, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public static <T> T callWithInjector(final Injector injector, final Supplier<T> task) {
+        validateNotNull(injector, "injector");
+        validateNotNull(task, "task");
+        final Injector previous = CURRENT_INJECTOR.get();
+        CURRENT_INJECTOR.set(injector);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_INJECTOR.remove();
+            } else {
+                CURRENT_INJECTOR.set(previous);
+            }
+        }
+    }
+
+    public static <S> void runInScope(final Injector injector,
+                                      final Class<S> scopeType,
+                                      final S scopeObject,
+                                      final Runnable task) {
+        validateNotNull(task, "task");
+        callInScope(injector, scopeType, scopeObject, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public static <S, T> T callInScope(final Injector injector,
+                                       final Class<S> scopeType,
+                                       final S scopeObject,
+                                       final Supplier<T> task) {
+        validateNotNull(injector, "injector");
+        try (Injector scopedInjector = injector.enterScope(scopeType, scopeObject)) {
+            return callWithInjector(scopedInjector, task);
+        }
+    }
+}
@@ -32,6 +32,7 @@ import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
 
 import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static de.quantummaid.reflectmaid.GenericType.genericType;
 import static de.quantummaid.reflectmaid.typescanner.TypeIdentifier.typeIdentifierFor;
@@ -44,8 +45,8 @@ public interface Injector extends AutoCloseable {
     }
 
     default <T> T getInstance(final GenericType<T> type) {
-        final TimedInstantiation<T> instanceWithInitializationTime = getInstanceWithInitializationTime(type);
-        return instanceWithInitializationTime.instance();
+        final ResolvedType resolvedType = reflectMaid().resolve(type);
+        return getInstance(resolvedType);
     }
 
     default <T> T getInstance(ResolvedType type) {
@@ -55,6 +56,25 @@ public interface Injector extends AutoCloseable {
 
     <T> T getInstance(TypeIdentifier type);
 
+    default <T> CompletableFuture<T> getInstanceAsync(final Class<T> type) {
+        final GenericType<T> genericType = genericType(type);
+        return getInstanceAsync(genericType);
+    }
+
+    default <T> CompletableFuture<T> getInstanceAsync(final GenericType<T> type) {
+        final ResolvedType resolvedType = reflectMaid().resolve(type);
+        return getInstanceAsync(resolvedType);
+    }
+
+    default <T> CompletableFuture<T> getInstanceAsync(final ResolvedType type) {
+        final TypeIdentifier typeIdentifier = typeIdentifierFor(type);
+        return getInstanceAsync(typeIdentifier);
+    }
+
+    default <T> CompletableFuture<T> getInstanceAsync(final TypeIdentifier type) {
+        return CompletableFuture.supplyAsync(() -> getInstance(type));
+    }
+
     default <T> TimedInstantiation<T> getInstanceWithInitializationTime(final Class<T> type) {
         final GenericType<T> genericType = genericType(type);
         return getInstanceWithInitializationTime(genericType);
@@ -25,7 +25,10 @@ import de.quantummaid.injectmaid.api.ReusePolicy;
 import de.quantummaid.injectmaid.api.customtype.api.*;
 import de.quantummaid.reflectmaid.GenericType;
 
+import java.util.concurrent.CompletableFuture;
+
 import static de.quantummaid.injectmaid.api.ReusePolicy.PROTOTYPE;
+import static de.quantummaid.injectmaid.api.customtype.api.CustomType.asyncCustomType;
 import static de.quantummaid.injectmaid.api.customtype.api.CustomType.customType;
 import static de.quantummaid.reflectmaid.GenericType.genericType;
 
@@ -70,6 +73,35 @@ public interface CustomTypeConfigurators<T extends CustomTypeConfigurators<T>> {
         return withCustomType(customType, reusePolicy);
     }
 
+    default <X> T withAsyncCustomType(final Class<X> type,
+                                      final Factory00<CompletableFuture<X>> factory) {
+        return withAsyncCustomType(type, factory, PROTOTYPE);
+    }
+
+    default <X> T withAsyncCustomType(final Class<X> type,
+                                      final Factory00<CompletableFuture<X>> factory,
+                                      final ReusePolicy reusePolicy) {
+        final CustomType customType = asyncCustomType(type)
+                .usingFactory(factory);
+        return withCustomType(customType, reusePolicy);
+    }
+
+    default <X, A> T withAsyncCustomType(final Class<X> type,
+                                         final Class<A> dependency00,
+                                         final Factory01<CompletableFuture<X>, A> factory) {
+        return withAsyncCustomType(type, dependency00, factory, PROTOTYPE);
+    }
+
+    default <X, A> T withAsyncCustomType(final Class<X> type,
+                                         final Class<A> dependency00,
+                                         final Factory01<CompletableFuture<X>, A> factory,
+                                         final ReusePolicy reusePolicy) {
+        final CustomType customType = asyncCustomType(type)
+                .withDependency(dependency00)
+                .usingFactory(factory);
+        return withCustomType(customType, reusePolicy);
+    }
+
     default <X, A> T withCustomType(final Class<X> type,
                                     final Class<A> dependency00,
                                     final Factory01<X, A> factory) {
@@ -59,6 +59,13 @@ public final class CustomTypeInstantiator implements Instantiator {
         return invocableFactory.invoke(dependencies.toArray());
     }
 
+    @Override
+    public Object instantiate(final Object[] dependencies,
+                              final ScopeManager scopeManager,
+                              final InjectMaid injectMaid) {
+        return invocableFactory.invoke(dependencies);
+    }
+
     @Override
     public String description() {
         return format("custom instantiation via '%s'", invocableFactory);
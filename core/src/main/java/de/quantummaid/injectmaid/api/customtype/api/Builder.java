@@ -31,8 +31,10 @@ import lombok.ToString;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static de.quantummaid.injectmaid.api.customtype.api.CustomType.customType;
+import static de.quantummaid.injectmaid.api.customtype.api.CustomTypeData.asyncCustomTypeInstantiator;
 import static de.quantummaid.injectmaid.api.customtype.api.CustomTypeData.customTypeInstantiator;
 import static de.quantummaid.reflectmaid.GenericType.genericType;
 import static java.util.stream.Collectors.toList;
@@ -45,6 +47,7 @@ public final class Builder {
     private final List<GenericType<?>> dependencies;
     private InvocableFactory<?> factory;
     private final GenericType<?> namespace;
+    private boolean asynchronous;
 
     public static Builder builder(final GenericType<?> type) {
         return builder(type, null);
@@ -62,6 +65,10 @@ public final class Builder {
         this.factory = factory;
     }
 
+    public void setAsynchronous() {
+        this.asynchronous = true;
+    }
+
     @SuppressWarnings("rawtypes")
     CustomType build() {
         final CustomTypeData customTypeData;
@@ -75,12 +82,23 @@ public final class Builder {
                         .map(NamespacedType::dependency)
                         .toArray();
                 final Object originalResult = factory.invoke(unnamespaced);
+                if (asynchronous) {
+                    return ((CompletableFuture<?>) originalResult).thenApply(instance -> new NamespacedType<>(instance));
+                }
                 return new NamespacedType<>(originalResult);
             };
-            customTypeData = customTypeInstantiator(namespacedDependencies, namespacedFactory);
+            customTypeData = customTypeData(namespacedDependencies, namespacedFactory);
         } else {
-            customTypeData = customTypeInstantiator(dependencies, factory);
+            customTypeData = customTypeData(dependencies, factory);
         }
         return customType(type, customTypeData);
     }
+
+    private CustomTypeData customTypeData(final List<GenericType<?>> dependencies,
+                                          final InvocableFactory<?> factory) {
+        if (asynchronous) {
+            return asyncCustomTypeInstantiator(dependencies, factory);
+        }
+        return customTypeInstantiator(dependencies, factory);
+    }
 }
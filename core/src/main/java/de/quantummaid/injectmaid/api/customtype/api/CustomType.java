@@ -27,6 +27,8 @@ import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
+import java.util.concurrent.CompletableFuture;
+
 import static de.quantummaid.injectmaid.api.customtype.api.Builder.builder;
 import static de.quantummaid.reflectmaid.GenericType.genericType;
 
@@ -53,6 +55,17 @@ public final class CustomType {
         return new FactoryBuilder00<>(builder);
     }
 
+    public static <X> FactoryBuilder00<CompletableFuture<X>> asyncCustomType(final Class<X> type) {
+        final GenericType<X> genericType = genericType(type);
+        return asyncCustomType(genericType);
+    }
+
+    public static <X> FactoryBuilder00<CompletableFuture<X>> asyncCustomType(final GenericType<X> genericType) {
+        final Builder builder = builder(genericType);
+        builder.setAsynchronous();
+        return new FactoryBuilder00<>(builder);
+    }
+
     public GenericType<?> type() {
         return resolvedType;
     }
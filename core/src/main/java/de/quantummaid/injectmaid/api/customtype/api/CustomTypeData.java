@@ -32,10 +32,16 @@ import java.util.List;
 public final class CustomTypeData {
     private final List<GenericType<?>> dependencies;
     private final InvocableFactory<?> invocableFactory;
+    private final boolean asynchronous;
 
     public static CustomTypeData customTypeInstantiator(final List<GenericType<?>> dependencies,
                                                         final InvocableFactory<?> invocableFactory) {
-        return new CustomTypeData(dependencies, invocableFactory);
+        return new CustomTypeData(dependencies, invocableFactory, false);
+    }
+
+    public static CustomTypeData asyncCustomTypeInstantiator(final List<GenericType<?>> dependencies,
+                                                             final InvocableFactory<?> invocableFactory) {
+        return new CustomTypeData(dependencies, invocableFactory, true);
     }
 
     public List<GenericType<?>> dependencies() {
@@ -45,4 +51,8 @@ public final class CustomTypeData {
     public InvocableFactory<?> invocableFactory() {
         return invocableFactory;
     }
+
+    public boolean isAsynchronous() {
+        return asynchronous;
+    }
 }
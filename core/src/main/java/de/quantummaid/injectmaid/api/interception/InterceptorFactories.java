@@ -24,21 +24,44 @@ package de.quantummaid.injectmaid.api.interception;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
+import static de.quantummaid.injectmaid.api.interception.NoOpInterceptor.NO_OP_INTERCEPTOR;
+import static de.quantummaid.injectmaid.api.interception.ScopeEntryInterceptors.NO_SCOPE_ENTRY_INTERCEPTORS;
 import static de.quantummaid.injectmaid.api.interception.SingletonInterceptorFactory.singletonInterceptorFactory;
-import static java.util.stream.Collectors.toList;
 
-@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+/**
+ * Publishes the registered factories as an immutable chain that is replaced as a whole when a factory is added,
+ * so that resolutions never need a lock. Shared interceptors are created once per chain, only the per-call
+ * interceptors are created on every resolution.
+ */
 public final class InterceptorFactories {
-    private final List<InterceptorFactory> factories;
+    private static final AtomicReferenceFieldUpdater<InterceptorFactories, Chain> CHAIN =
+            AtomicReferenceFieldUpdater.newUpdater(InterceptorFactories.class, Chain.class, "chain");
+
+    private volatile Chain chain;
+
+    private InterceptorFactories(final Chain chain) {
+        this.chain = chain;
+    }
 
     public static InterceptorFactories interceptorFactories(final List<InterceptorFactory> factories) {
-        return new InterceptorFactories(factories);
+        return new InterceptorFactories(Chain.chain(List.copyOf(factories)));
     }
 
     public void addFactory(final InterceptorFactory factory) {
-        factories.add(factory);
+        Chain current;
+        Chain extended;
+        do {
+            current = chain;
+            final List<InterceptorFactory> factories = new ArrayList<>(current.factories.size() + 1);
+            factories.addAll(current.factories);
+            factories.add(factory);
+            extended = Chain.chain(List.copyOf(factories));
+        } while (!CHAIN.compareAndSet(this, current, extended));
     }
 
     public void addInterceptor(final Interceptor interceptor) {
@@ -47,16 +70,68 @@ public final class InterceptorFactories {
     }
 
     public Interceptors interceptors() {
-        final List<Interceptor> interceptors = factories.stream()
-                .map(InterceptorFactory::createInterceptor)
-                .collect(toList());
-        return Interceptors.interceptors(interceptors);
+        return chain.interceptors();
     }
 
     public ScopeEntryInterceptors scopeEntryInterceptors() {
-        final List<ScopeEntryInterceptor> scopeEntryInterceptors = factories.stream()
-                .map(InterceptorFactory::createScopeEntryInterceptor)
-                .collect(toList());
+        final List<InterceptorFactory> factories = chain.factories;
+        if (factories.isEmpty()) {
+            return NO_SCOPE_ENTRY_INTERCEPTORS;
+        }
+        final List<ScopeEntryInterceptor> scopeEntryInterceptors = new ArrayList<>(factories.size());
+        for (final InterceptorFactory factory : factories) {
+            scopeEntryInterceptors.add(factory.createScopeEntryInterceptor());
+        }
         return ScopeEntryInterceptors.scopeEntryInterceptors(scopeEntryInterceptors);
     }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class Chain {
+        private static final int[] NO_SLOTS = new int[0];
+        private static final Chain EMPTY_CHAIN = new Chain(List.of(), Interceptors.interceptors(List.of()), null, NO_SLOTS, null);
+
+        private final List<InterceptorFactory> factories;
+        private final Interceptors sharedInterceptors;
+        private final Interceptor[] template;
+        private final int[] perCallSlots;
+        private final InterceptorFactory[] perCallFactories;
+
+        static Chain chain(final List<InterceptorFactory> factories) {
+            if (factories.isEmpty()) {
+                return EMPTY_CHAIN;
+            }
+            final List<Interceptor> template = new ArrayList<>(factories.size());
+            final List<InterceptorFactory> perCallFactories = new ArrayList<>(factories.size());
+            final int[] perCallSlots = new int[factories.size()];
+            for (final InterceptorFactory factory : factories) {
+                if (!factory.createsSharedInterceptor()) {
+                    perCallSlots[perCallFactories.size()] = template.size();
+                    perCallFactories.add(factory);
+                    template.add(null);
+                    continue;
+                }
+                final Interceptor interceptor = factory.createInterceptor();
+                if (interceptor != NO_OP_INTERCEPTOR) {
+                    template.add(interceptor);
+                }
+            }
+            if (perCallFactories.isEmpty()) {
+                return new Chain(factories, Interceptors.interceptors(template), null, NO_SLOTS, null);
+            }
+            return new Chain(factories, null, template.toArray(new Interceptor[0]),
+                    Arrays.copyOf(perCallSlots, perCallFactories.size()),
+                    perCallFactories.toArray(new InterceptorFactory[0]));
+        }
+
+        Interceptors interceptors() {
+            if (sharedInterceptors != null) {
+                return sharedInterceptors;
+            }
+            final Interceptor[] interceptors = template.clone();
+            for (int i = 0; i < perCallSlots.length; ++i) {
+                interceptors[perCallSlots[i]] = perCallFactories[i].createInterceptor();
+            }
+            return Interceptors.interceptors(Arrays.asList(interceptors));
+        }
+    }
 }
@@ -27,6 +27,10 @@ public interface InterceptorFactory {
 
     Interceptor createInterceptor();
 
+    default boolean createsSharedInterceptor() {
+        return false;
+    }
+
     default ScopeEntryInterceptor createScopeEntryInterceptor() {
         return constantScopeEntryInterceptor(this);
     }
@@ -31,22 +31,36 @@ import lombok.ToString;
 import java.util.List;
 import java.util.Optional;
 
+import static java.util.Collections.emptyList;
+
 @ToString
 @EqualsAndHashCode
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 @SuppressWarnings("java:S1452")
 public final class Interceptors {
+    private static final Interceptors NO_INTERCEPTORS = new Interceptors(emptyList());
+
     private final List<Interceptor> interceptors;
 
     public static Interceptors interceptors(final List<Interceptor> interceptors) {
+        if (interceptors.isEmpty()) {
+            return NO_INTERCEPTORS;
+        }
         return new Interceptors(interceptors);
     }
 
+    public boolean isEmpty() {
+        return interceptors.isEmpty();
+    }
+
     public Optional<?> interceptBefore(final TypeIdentifier type, final TypeIdentifier rootType) {
-        return interceptors.stream()
-                .map(interceptor -> interceptor.interceptBeforeInstantiation(type, rootType))
-                .flatMap(Optional::stream)
-                .findFirst();
+        for (final Interceptor interceptor : interceptors) {
+            final Optional<?> intercepted = interceptor.interceptBeforeInstantiation(type, rootType);
+            if (intercepted.isPresent()) {
+                return intercepted;
+            }
+        }
+        return Optional.empty();
     }
 
     public Object interceptAfter(final TypeIdentifier type,
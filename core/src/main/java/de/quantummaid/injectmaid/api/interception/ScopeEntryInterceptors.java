@@ -37,6 +37,8 @@ import static java.util.stream.Collectors.toList;
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 @SuppressWarnings("java:S1452")
 public final class ScopeEntryInterceptors {
+    public static final ScopeEntryInterceptors NO_SCOPE_ENTRY_INTERCEPTORS = scopeEntryInterceptors(List.of());
+
     private final List<ScopeEntryInterceptor> interceptors;
 
     public static ScopeEntryInterceptors scopeEntryInterceptors(final List<ScopeEntryInterceptor> interceptors) {
@@ -44,6 +46,9 @@ public final class ScopeEntryInterceptors {
     }
 
     public List<InterceptorFactory> interceptBefore(final TypeIdentifier scopeType, final Object scopeObject) {
+        if (interceptors.isEmpty()) {
+            return List.of();
+        }
         return interceptors.stream()
                 .map(interceptor -> interceptor.beforeEnterScope(scopeType, scopeObject))
                 .collect(toList());
@@ -42,6 +42,11 @@ public final class SingletonInterceptorFactory implements InterceptorFactory, Sc
         return singleton;
     }
 
+    @Override
+    public boolean createsSharedInterceptor() {
+        return true;
+    }
+
     @Override
     public ScopeEntryInterceptor createScopeEntryInterceptor() {
         return this;
@@ -53,6 +53,11 @@ public final class ScopeEntryTimingInterceptorFactory implements InterceptorFact
         return NO_OP_INTERCEPTOR;
     }
 
+    @Override
+    public boolean createsSharedInterceptor() {
+        return true;
+    }
+
     @Override
     public ScopeEntryInterceptor createScopeEntryInterceptor() {
         return timingScopeEntryInterceptor(scope, maxDuration);
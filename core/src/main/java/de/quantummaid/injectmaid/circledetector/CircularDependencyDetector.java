@@ -23,7 +23,8 @@ package de.quantummaid.injectmaid.circledetector;
 
 import de.quantummaid.injectmaid.Definition;
 import de.quantummaid.injectmaid.Definitions;
-import de.quantummaid.injectmaid.instantiator.Instantiator;
+import de.quantummaid.injectmaid.InjectMaidException;
+import de.quantummaid.injectmaid.ResolutionTable;
 import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
 import de.quantummaid.reflectmaid.typescanner.scopes.Scope;
 
@@ -35,6 +36,9 @@ import static java.lang.String.format;
 import static java.util.stream.Collectors.joining;
 
 public final class CircularDependencyDetector {
+    private static final byte UNVISITED = 0;
+    private static final byte ON_PATH = 1;
+    private static final byte VISITED = 2;
 
     private CircularDependencyDetector() {
     }
@@ -45,32 +49,72 @@ public final class CircularDependencyDetector {
     }
 
     private static void validateNoCircularDependenciesInScope(final Definitions definitions, final Scope scope) {
-        final List<Definition> definitionList = definitions.definitionsOnScope(scope);
-        definitionList.forEach(definition -> {
-            final List<Definition> alreadyVisited = new ArrayList<>();
-            detectCircle(definition, alreadyVisited, definitions, scope);
-        });
+        final ResolutionTable resolutionTable = definitions.resolutionTable(scope);
+        final byte[] states = new byte[resolutionTable.typeCount()];
+        for (final Definition definition : definitions.definitionsOnScope(scope)) {
+            detectCircle(definition, resolutionTable, states, scope);
+        }
     }
 
-    private static void detectCircle(final Definition definition,
-                                     final List<Definition> alreadyVisited,
-                                     final Definitions definitions,
+    private static void detectCircle(final Definition root,
+                                     final ResolutionTable resolutionTable,
+                                     final byte[] states,
                                      final Scope scope) {
-        if (alreadyVisited.contains(definition)) {
-            alreadyVisited.add(definition);
-            final String circle = alreadyVisited.stream()
-                    .map(Definition::type)
-                    .map(TypeIdentifier::simpleDescription)
-                    .collect(joining(" -> "));
-            throw injectMaidException(format("Illegal circular dependency in scope '%s' detected: %s",
-                    scope.render(), circle));
-        } else {
-            alreadyVisited.add(definition);
-            final Instantiator instantiator = definition.instantiator();
-            for (final TypeIdentifier dependencyType : instantiator.dependencies()) {
-                final Definition dependency = definitions.definitionFor(dependencyType, scope);
-                detectCircle(dependency, new ArrayList<>(alreadyVisited), definitions, scope);
+        final boolean rootIsResolved = resolutionTable.definitionFor(root.typeId(), root.type()) == root;
+        if (rootIsResolved && states[root.typeId()] == VISITED) {
+            return;
+        }
+        final List<Frame> path = new ArrayList<>();
+        path.add(new Frame(root, rootIsResolved));
+        if (rootIsResolved) {
+            states[root.typeId()] = ON_PATH;
+        }
+        while (!path.isEmpty()) {
+            final Frame frame = path.get(path.size() - 1);
+            final int[] dependencyIds = frame.definition.dependencyIds();
+            if (frame.nextDependency == dependencyIds.length) {
+                if (frame.tracked) {
+                    states[frame.definition.typeId()] = VISITED;
+                }
+                path.remove(path.size() - 1);
+                continue;
             }
+            final int index = frame.nextDependency++;
+            final TypeIdentifier dependencyType = frame.definition.instantiator().dependencies().get(index);
+            final Definition dependency = resolutionTable.definitionFor(dependencyIds[index], dependencyType);
+            final byte state = states[dependency.typeId()];
+            if (state == ON_PATH) {
+                throw circularDependency(path, dependency, scope);
+            }
+            if (state == UNVISITED) {
+                states[dependency.typeId()] = ON_PATH;
+                path.add(new Frame(dependency, true));
+            }
+        }
+    }
+
+    private static InjectMaidException circularDependency(final List<Frame> path,
+                                                           final Definition repeatedDefinition,
+                                                           final Scope scope) {
+        final List<Definition> circle = new ArrayList<>(path.size() + 1);
+        path.forEach(frame -> circle.add(frame.definition));
+        circle.add(repeatedDefinition);
+        final String renderedCircle = circle.stream()
+                .map(Definition::type)
+                .map(TypeIdentifier::simpleDescription)
+                .collect(joining(" -> "));
+        return injectMaidException(format("Illegal circular dependency in scope '%s' detected: %s",
+                scope.render(), renderedCircle));
+    }
+
+    private static final class Frame {
+        private final Definition definition;
+        private final boolean tracked;
+        private int nextDependency;
+
+        Frame(final Definition definition, final boolean tracked) {
+            this.definition = definition;
+            this.tracked = tracked;
         }
     }
 }
@@ -22,6 +22,7 @@
 package de.quantummaid.injectmaid.detection;
 
 import de.quantummaid.injectmaid.InjectMaid;
+import de.quantummaid.injectmaid.api.Lazy;
 import de.quantummaid.injectmaid.detection.disambiguators.DisambiguationResult;
 import de.quantummaid.injectmaid.detection.disambiguators.Disambiguator;
 import de.quantummaid.injectmaid.detection.singleton.SingletonDetector;
@@ -40,6 +41,9 @@ import static de.quantummaid.injectmaid.detection.disambiguators.SingleChoiceDis
 import static de.quantummaid.injectmaid.detection.disambiguators.SingleConstructorDisambiguator.singleConstructorDisambiguator;
 import static de.quantummaid.injectmaid.detection.disambiguators.SingleStaticFactoryDisambiguator.singleStaticFactoryDisambiguator;
 import static de.quantummaid.injectmaid.detection.singleton.AnnotationSingletonDetector.annotationSingletonDetector;
+import static de.quantummaid.injectmaid.instantiator.LazyInstantiator.lazyInstantiator;
+import static de.quantummaid.injectmaid.instantiator.ProviderInstantiator.PROVIDER_TYPE_NAME;
+import static de.quantummaid.injectmaid.instantiator.ProviderInstantiator.providerInstantiator;
 import static de.quantummaid.injectmaid.instantiator.SelfInstantiator.selfInstantiator;
 import static de.quantummaid.reflectmaid.typescanner.states.DetectionResult.failure;
 import static de.quantummaid.reflectmaid.typescanner.states.DetectionResult.success;
@@ -48,6 +52,7 @@ import static java.lang.String.join;
 
 public final class Detectors {
     private static final Class<?> INJECTMAID_TYPE = InjectMaid.class;
+    private static final Class<?> LAZY_TYPE = Lazy.class;
 
     private static final List<Disambiguator> DISAMBIGUATORS = List.of(
             singleChoiceDisambiguator(),
@@ -91,6 +96,10 @@ public final class Detectors {
         if (typeToInstantiate.assignableType().equals(INJECTMAID_TYPE)) {
             return success(selfInstantiator());
         }
+        final Class<?> assignableType = typeToInstantiate.assignableType();
+        if (assignableType.equals(LAZY_TYPE) || assignableType.getName().equals(PROVIDER_TYPE_NAME)) {
+            return detectDeferred(typeToInstantiate);
+        }
         final ClassType creatingClassType = (ClassType) creatingType;
 
         SINGLETON_DETECTORS.forEach(singletonDetector -> singletonDetector.detect(typeToInstantiate, singletonSwitch));
@@ -115,6 +124,19 @@ public final class Detectors {
         return fail(typeToInstantiate, creatingType, combinedIgnoreReasons);
     }
 
+    private static DetectionResult<Instantiator> detectDeferred(final ResolvedType typeToInstantiate) {
+        final List<ResolvedType> typeParameters = typeToInstantiate.typeParameters();
+        if (typeParameters.size() != 1 || typeParameters.get(0).isWildcard()) {
+            return failure(format("'%s' needs to name the type it defers", typeToInstantiate.description()));
+        }
+        final TypeIdentifier deferredType = TypeIdentifier.typeIdentifierFor(typeParameters.get(0));
+        final Class<?> assignableType = typeToInstantiate.assignableType();
+        if (assignableType.equals(LAZY_TYPE)) {
+            return success(lazyInstantiator(deferredType));
+        }
+        return success(providerInstantiator(assignableType, deferredType));
+    }
+
     private static DetectionResult<Instantiator> fail(final ResolvedType typeToInstantiate,
                                                       final ResolvedType creatingType,
                                                       final String message) {
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.instantiator;
+
+import de.quantummaid.injectmaid.InjectMaid;
+import de.quantummaid.injectmaid.ScopeManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * An {@link Instantiator} whose instance only becomes available when the returned future completes.
+ * Synchronous lookups wait for the future, {@link InjectMaid#getInstanceAsync} composes it.
+ */
+@SuppressWarnings("java:S112")
+public interface AsyncInstantiator extends Instantiator {
+
+    CompletableFuture<?> instantiateAsync(List<Object> dependencies, ScopeManager scopeManager, InjectMaid injectMaid);
+
+    @Override
+    default Object instantiate(final List<Object> dependencies,
+                               final ScopeManager scopeManager,
+                               final InjectMaid injectMaid) throws Exception {
+        try {
+            return instantiateAsync(dependencies, scopeManager, injectMaid).join();
+        } catch (final CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -53,6 +53,13 @@ public final class BindInstantiator implements Instantiator {
         return dependencies.get(0);
     }
 
+    @Override
+    public Object instantiate(final Object[] dependencies,
+                              final ScopeManager scopeManager,
+                              final InjectMaid injectMaid) {
+        return dependencies[0];
+    }
+
     @Override
     public String description() {
         return String.format("delegation to implementation '%s'", concreteType.description());
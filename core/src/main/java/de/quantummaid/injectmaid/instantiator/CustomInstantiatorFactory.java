@@ -45,6 +45,14 @@ public final class CustomInstantiatorFactory implements StateFactory<InjectMaidT
         return new CustomInstantiatorFactory(typeIdentifier, instantiator, reusePolicyMapper);
     }
 
+    public TypeIdentifier typeIdentifier() {
+        return typeIdentifier;
+    }
+
+    public Instantiator instantiator() {
+        return instantiator;
+    }
+
     @Override
     public boolean applies(@NotNull final TypeIdentifier type) {
         return typeIdentifier.equals(type);
@@ -27,12 +27,40 @@ import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
 
 import java.util.List;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+
 @SuppressWarnings("java:S112")
 public interface Instantiator {
 
     List<TypeIdentifier> dependencies();
 
+    /**
+     * Types that need to be registered for this instantiator but are only instantiated on demand after
+     * {@link #instantiate(List, ScopeManager, InjectMaid)} returned.
+     */
+    default List<TypeIdentifier> deferredDependencies() {
+        return List.of();
+    }
+
     Object instantiate(List<Object> dependencies, ScopeManager scopeManager, InjectMaid injectMaid) throws Exception;
 
+    /**
+     * Variant of {@link #instantiate(List, ScopeManager, InjectMaid)} used when resolving instances.
+     * The array must not be modified; implementations that can consume it directly should override this
+     * method to avoid the list view.
+     */
+    default Object instantiate(final Object[] dependencies,
+                               final ScopeManager scopeManager,
+                               final InjectMaid injectMaid) throws Exception {
+        final List<Object> dependencyList;
+        if (dependencies.length == 0) {
+            dependencyList = emptyList();
+        } else {
+            dependencyList = asList(dependencies);
+        }
+        return instantiate(dependencyList, scopeManager, injectMaid);
+    }
+
     String description();
 }
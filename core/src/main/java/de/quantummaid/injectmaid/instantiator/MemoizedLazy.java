@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.instantiator;
+
+import de.quantummaid.injectmaid.InjectMaid;
+import de.quantummaid.injectmaid.api.Lazy;
+import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+final class MemoizedLazy<T> implements Lazy<T> {
+    private final InjectMaid injectMaid;
+    private final TypeIdentifier type;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean resolved;
+    private T instance;
+
+    MemoizedLazy(final InjectMaid injectMaid, final TypeIdentifier type) {
+        this.injectMaid = injectMaid;
+        this.type = type;
+    }
+
+    @Override
+    public T get() {
+        if (!resolved) {
+            lock.lock();
+            try {
+                if (!resolved) {
+                    instance = injectMaid.getDeferredInstance(type);
+                    resolved = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return instance;
+    }
+
+    @Override
+    public String toString() {
+        return "Lazy<" + type.simpleDescription() + ">";
+    }
+}
@@ -56,6 +56,10 @@ public final class NonStaticFactoryInstantiator implements Instantiator {
         return method;
     }
 
+    public ResolvedType factoryType() {
+        return type;
+    }
+
     @Override
     public List<TypeIdentifier> dependencies() {
         final List<TypeIdentifier> dependencies = new ArrayList<>();
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.instantiator;
+
+import de.quantummaid.injectmaid.InjectMaid;
+import de.quantummaid.injectmaid.ScopeManager;
+import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Instantiates {@code javax.inject.Provider} as a proxy, so injectmaid itself does not depend on javax.inject.
+ */
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ProviderInstantiator implements Instantiator {
+    public static final String PROVIDER_TYPE_NAME = "javax.inject.Provider";
+
+    private final Class<?> providerType;
+    private final TypeIdentifier deferredType;
+
+    public static ProviderInstantiator providerInstantiator(final Class<?> providerType,
+                                                            final TypeIdentifier deferredType) {
+        return new ProviderInstantiator(providerType, deferredType);
+    }
+
+    @Override
+    public List<TypeIdentifier> dependencies() {
+        return List.of();
+    }
+
+    @Override
+    public List<TypeIdentifier> deferredDependencies() {
+        return List.of(deferredType);
+    }
+
+    @Override
+    public Object instantiate(final List<Object> dependencies,
+                              final ScopeManager scopeManager,
+                              final InjectMaid injectMaid) {
+        final String description = format("Provider<%s>", deferredType.simpleDescription());
+        final InvocationHandler invocationHandler = (proxy, method, arguments) -> {
+            switch (method.getName()) {
+                case "get":
+                    return injectMaid.getDeferredInstance(deferredType);
+                case "equals":
+                    return proxy == arguments[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return description;
+                default:
+                    throw new UnsupportedOperationException(method.toString());
+            }
+        };
+        return Proxy.newProxyInstance(providerType.getClassLoader(), new Class<?>[]{providerType}, invocationHandler);
+    }
+
+    @Override
+    public String description() {
+        return format("provider of '%s'", deferredType.description());
+    }
+}
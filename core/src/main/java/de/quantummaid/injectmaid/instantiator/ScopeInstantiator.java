@@ -36,9 +36,11 @@ import java.util.List;
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public final class ScopeInstantiator implements Instantiator {
     private final TypeIdentifier type;
+    private final int scopeDepth;
 
-    public static ScopeInstantiator scopeInstantiator(final TypeIdentifier type) {
-        return new ScopeInstantiator(type);
+    public static ScopeInstantiator scopeInstantiator(final TypeIdentifier type,
+                                                      final int scopeDepth) {
+        return new ScopeInstantiator(type, scopeDepth);
     }
 
     @Override
@@ -50,7 +52,7 @@ public final class ScopeInstantiator implements Instantiator {
     public Object instantiate(final List<Object> dependencies,
                               final ScopeManager scopeManager,
                               final InjectMaid injectMaid) {
-        return scopeManager.getScopeObject(type);
+        return scopeManager.getScopeObject(scopeDepth);
     }
 
     @Override
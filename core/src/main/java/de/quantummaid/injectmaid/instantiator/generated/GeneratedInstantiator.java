@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.instantiator.generated;
+
+import de.quantummaid.injectmaid.InjectMaid;
+import de.quantummaid.injectmaid.ScopeManager;
+import de.quantummaid.injectmaid.api.customtype.api.InvocableFactory;
+import de.quantummaid.injectmaid.instantiator.Instantiator;
+import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class GeneratedInstantiator implements Instantiator {
+    private final Instantiator reflectiveInstantiator;
+    private final InvocableFactory<?> invoker;
+
+    public static GeneratedInstantiator generatedInstantiator(final Instantiator reflectiveInstantiator,
+                                                              final InvocableFactory<?> invoker) {
+        return new GeneratedInstantiator(reflectiveInstantiator, invoker);
+    }
+
+    public Instantiator reflectiveInstantiator() {
+        return reflectiveInstantiator;
+    }
+
+    @Override
+    public List<TypeIdentifier> dependencies() {
+        return reflectiveInstantiator.dependencies();
+    }
+
+    @Override
+    public Object instantiate(final List<Object> dependencies,
+                              final ScopeManager scopeManager,
+                              final InjectMaid injectMaid) {
+        return invoker.invoke(dependencies.toArray());
+    }
+
+    @Override
+    public Object instantiate(final Object[] dependencies,
+                              final ScopeManager scopeManager,
+                              final InjectMaid injectMaid) {
+        return invoker.invoke(dependencies);
+    }
+
+    @Override
+    public String description() {
+        return reflectiveInstantiator.description();
+    }
+}
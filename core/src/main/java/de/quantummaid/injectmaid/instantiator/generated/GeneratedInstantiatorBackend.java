@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.instantiator.generated;
+
+import de.quantummaid.injectmaid.instantiator.ConstructorInstantiator;
+import de.quantummaid.injectmaid.instantiator.Instantiator;
+import de.quantummaid.injectmaid.instantiator.InstantiatorBackend;
+import de.quantummaid.injectmaid.instantiator.NonStaticFactoryInstantiator;
+import de.quantummaid.injectmaid.instantiator.StaticFactoryInstantiator;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.lang.reflect.Executable;
+
+import static de.quantummaid.injectmaid.instantiator.generated.GeneratedInstantiator.generatedInstantiator;
+import static de.quantummaid.injectmaid.instantiator.generated.InvokerGenerator.generateInvoker;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class GeneratedInstantiatorBackend implements InstantiatorBackend {
+
+    public static GeneratedInstantiatorBackend generatedInstantiatorBackend() {
+        return new GeneratedInstantiatorBackend();
+    }
+
+    @Override
+    public Instantiator compile(final Instantiator instantiator) {
+        final Executable executable;
+        if (instantiator instanceof ConstructorInstantiator) {
+            executable = ((ConstructorInstantiator) instantiator).constructor().getConstructor();
+        } else if (instantiator instanceof StaticFactoryInstantiator) {
+            executable = ((StaticFactoryInstantiator) instantiator).method().getMethod();
+        } else if (instantiator instanceof NonStaticFactoryInstantiator) {
+            executable = ((NonStaticFactoryInstantiator) instantiator).method().getMethod();
+        } else {
+            return instantiator;
+        }
+        final int arity = instantiator.dependencies().size();
+        return generateInvoker(executable, arity)
+                .<Instantiator>map(invoker -> generatedInstantiator(instantiator, invoker))
+                .orElse(instantiator);
+    }
+}
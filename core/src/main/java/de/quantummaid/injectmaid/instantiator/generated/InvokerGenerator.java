@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.instantiator.generated;
+
+import de.quantummaid.injectmaid.api.customtype.api.*;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+import static java.lang.invoke.MethodType.genericMethodType;
+import static java.lang.invoke.MethodType.methodType;
+
+final class InvokerGenerator {
+    private static final String FACTORY_METHOD_NAME = "create";
+    private static final Class<?>[] FACTORY_INTERFACES = {
+            Factory00.class, Factory01.class, Factory02.class, Factory03.class, Factory04.class,
+            Factory05.class, Factory06.class, Factory07.class, Factory08.class, Factory09.class,
+            Factory10.class, Factory11.class, Factory12.class, Factory13.class, Factory14.class,
+            Factory15.class, Factory16.class
+    };
+
+    private InvokerGenerator() {
+    }
+
+    static Optional<InvocableFactory<?>> generateInvoker(final Executable executable,
+                                                         final int arity) {
+        if (arity >= FACTORY_INTERFACES.length) {
+            return Optional.empty();
+        }
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(
+                    executable.getDeclaringClass(), MethodHandles.lookup());
+            final MethodHandle implementation = unreflect(lookup, executable);
+            final MethodType instantiatedType = implementation.type().wrap();
+            if (instantiatedType.parameterCount() != arity) {
+                return Optional.empty();
+            }
+            final Class<?> factoryInterface = FACTORY_INTERFACES[arity];
+            final CallSite callSite = LambdaMetafactory.metafactory(
+                    lookup,
+                    FACTORY_METHOD_NAME,
+                    methodType(factoryInterface),
+                    genericMethodType(arity),
+                    implementation,
+                    instantiatedType
+            );
+            return Optional.of(createInvoker(callSite.getTarget()));
+        } catch (final ReflectiveOperationException | LambdaConversionException | SecurityException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * {@link MethodHandle#invoke} declares {@link Throwable}. Unchecked throwables, including {@link Error}s,
+     * are rethrown unchanged; checked ones are reported as {@link InvocationTargetException}.
+     */
+    private static InvocableFactory<?> createInvoker(final MethodHandle factory) throws InvocationTargetException {
+        try {
+            return (InvocableFactory<?>) factory.invoke();
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable throwable) {
+            throw new InvocationTargetException(throwable);
+        }
+    }
+
+    private static MethodHandle unreflect(final MethodHandles.Lookup lookup,
+                                          final Executable executable) throws IllegalAccessException {
+        if (executable instanceof Constructor) {
+            return lookup.unreflectConstructor((Constructor<?>) executable);
+        }
+        return lookup.unreflect((Method) executable);
+    }
+}
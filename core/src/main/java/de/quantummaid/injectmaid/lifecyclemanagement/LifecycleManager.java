@@ -21,16 +21,44 @@
 
 package de.quantummaid.injectmaid.lifecyclemanagement;
 
-import de.quantummaid.reflectmaid.typescanner.scopes.Scope;
+import de.quantummaid.injectmaid.ResolutionTable;
 
 import java.util.List;
+import java.util.function.BiConsumer;
 
 public interface LifecycleManager {
-    LifecycleManager newInstance(Scope scope);
+    int UNKNOWN_TYPE_ID = -1;
 
-    void registerInstance(Object instance, Scope scope);
+    LifecycleManager newInstance(ResolutionTable resolutionTable);
 
-    void closeAll(List<ExceptionDuringClose> exceptions);
+    LifecycleManager untracked();
+
+    default void registerInstance(final Object instance, final int scopeId) {
+        registerInstance(instance, scopeId, UNKNOWN_TYPE_ID);
+    }
+
+    void registerInstance(Object instance, int scopeId, int typeId);
+
+    boolean canClose(int typeId);
+
+    /**
+     * Returns the {@link System#nanoTime()} by which closing a scope that starts now has to complete.
+     */
+    default long closeDeadline() {
+        return System.nanoTime();
+    }
+
+    void closeAll(List<ExceptionDuringClose> exceptions, long deadline);
+
+    /**
+     * Closes parts that do not depend on each other, e.g. sibling child scopes.
+     */
+    default <T> void closeIndependently(final List<T> parts,
+                                        final BiConsumer<T, List<ExceptionDuringClose>> close,
+                                        final List<ExceptionDuringClose> exceptions,
+                                        final long deadline) {
+        parts.forEach(part -> close.accept(part, exceptions));
+    }
 
     LifecycleManager child();
 }
@@ -21,7 +21,7 @@
 
 package de.quantummaid.injectmaid.lifecyclemanagement;
 
-import de.quantummaid.reflectmaid.typescanner.scopes.Scope;
+import de.quantummaid.injectmaid.ResolutionTable;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 
@@ -35,17 +35,27 @@ public final class NoOpLifecycleManager implements LifecycleManager {
     }
 
     @Override
-    public LifecycleManager newInstance(final Scope scope) {
-        return new NoOpLifecycleManager();
+    public LifecycleManager newInstance(final ResolutionTable resolutionTable) {
+        return this;
     }
 
     @Override
-    public void registerInstance(final Object instance, final Scope scope) {
+    public LifecycleManager untracked() {
+        return this;
+    }
+
+    @Override
+    public void registerInstance(final Object instance, final int scopeId, final int typeId) {
         // do nothing
     }
 
     @Override
-    public void closeAll(final List<ExceptionDuringClose> exceptions) {
+    public boolean canClose(final int typeId) {
+        return false;
+    }
+
+    @Override
+    public void closeAll(final List<ExceptionDuringClose> exceptions, final long deadline) {
         // do nothing
     }
 
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.lifecyclemanagement;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+import static de.quantummaid.injectmaid.InjectMaidException.injectMaidException;
+import static de.quantummaid.injectmaid.validators.NotNullValidator.validateNotNull;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ParallelClose {
+    private final Executor executor;
+    private final Duration perInstanceTimeout;
+    private final Duration globalTimeout;
+
+    public static ParallelClose parallelClose(final Executor executor,
+                                              final Duration perInstanceTimeout,
+                                              final Duration globalTimeout) {
+        validateNotNull(executor, "executor");
+        validateNotNull(perInstanceTimeout, "perInstanceTimeout");
+        validateNotNull(globalTimeout, "globalTimeout");
+        if (perInstanceTimeout.isNegative() || perInstanceTimeout.isZero()) {
+            throw injectMaidException("perInstanceTimeout must be positive but was " + perInstanceTimeout);
+        }
+        if (globalTimeout.isNegative() || globalTimeout.isZero()) {
+            throw injectMaidException("globalTimeout must be positive but was " + globalTimeout);
+        }
+        return new ParallelClose(executor, perInstanceTimeout, globalTimeout);
+    }
+
+    public Executor executor() {
+        return executor;
+    }
+
+    public Duration perInstanceTimeout() {
+        return perInstanceTimeout;
+    }
+
+    public Duration globalTimeout() {
+        return globalTimeout;
+    }
+}
@@ -21,59 +21,236 @@
 
 package de.quantummaid.injectmaid.lifecyclemanagement;
 
+import de.quantummaid.injectmaid.ResolutionTable;
 import de.quantummaid.injectmaid.lifecyclemanagement.closer.Closeable;
 import de.quantummaid.injectmaid.lifecyclemanagement.closer.Closers;
-import de.quantummaid.reflectmaid.typescanner.scopes.Scope;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
-import java.util.ListIterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import static de.quantummaid.injectmaid.InjectMaidException.injectMaidException;
+import static de.quantummaid.injectmaid.lifecyclemanagement.ExceptionDuringClose.exceptionDuringClose;
+import static de.quantummaid.injectmaid.lifecyclemanagement.UntrackedLifecycleManager.untrackedLifecycleManager;
+import static java.lang.String.format;
+import static java.util.Collections.synchronizedList;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public final class RealLifecycleManager implements LifecycleManager {
+    private static final int EXTERNAL_OBJECTS_LAYER = Integer.MAX_VALUE;
+
     private final Closers closers;
-    private final List<Closeable> closeables = new ArrayList<>();
-    private final Scope scope;
+    private final Deque<Closeable> closeables = new ConcurrentLinkedDeque<>();
+    private final ResolutionTable resolutionTable;
+    private final boolean[] closeableTypeIds;
+    private final ParallelClose parallelClose;
     private final LifecycleManager parent;
+    private final LifecycleManager untracked = untrackedLifecycleManager(this);
 
     public static LifecycleManager realLifecycleManager(final Closers closers,
-                                                        final Scope scope) {
-        return new RealLifecycleManager(closers, scope, null);
+                                                        final ResolutionTable resolutionTable,
+                                                        final boolean[] closeableTypeIds,
+                                                        final ParallelClose parallelClose) {
+        return new RealLifecycleManager(closers, resolutionTable, closeableTypeIds, parallelClose, null);
+    }
+
+    @Override
+    public LifecycleManager newInstance(final ResolutionTable resolutionTable) {
+        return new RealLifecycleManager(closers, resolutionTable, closeableTypeIds, parallelClose, this);
+    }
+
+    @Override
+    public LifecycleManager untracked() {
+        return untracked;
     }
 
     @Override
-    public LifecycleManager newInstance(final Scope scope) {
-        return new RealLifecycleManager(closers, scope, this);
+    public boolean canClose(final int typeId) {
+        return closeableTypeIds[typeId];
     }
 
     @Override
-    public void registerInstance(final Object instance, final Scope scope) {
-        if (!this.scope.equals(scope)) {
+    public void registerInstance(final Object instance, final int scopeId, final int typeId) {
+        if (resolutionTable.scopeId() != scopeId) {
             if (parent == null) {
                 throw injectMaidException(
-                        "unable to register autoclosable in scope '" + scope.render() + "' - this should never happen");
+                        "unable to register autoclosable in scope with id " + scopeId + " - this should never happen");
             }
-            parent.registerInstance(instance, scope);
+            parent.registerInstance(instance, scopeId, typeId);
         } else {
-            closers.createCloseable(instance)
+            closers.createCloseable(instance, typeId)
                     .ifPresent(closeables::add);
         }
     }
 
     @Override
-    public void closeAll(final List<ExceptionDuringClose> exceptions) {
-        final ListIterator<Closeable> descendingIterator = closeables.listIterator(closeables.size());
-        while (descendingIterator.hasPrevious()) {
-            final Closeable closeable = descendingIterator.previous();
+    public long closeDeadline() {
+        final long now = System.nanoTime();
+        if (parallelClose == null) {
+            return now;
+        }
+        return now + parallelClose.globalTimeout().toNanos();
+    }
+
+    @Override
+    public void closeAll(final List<ExceptionDuringClose> exceptions, final long deadline) {
+        if (parallelClose == null) {
+            closeSequentially(exceptions);
+        } else {
+            closeInParallel(exceptions, deadline);
+        }
+    }
+
+    @Override
+    public <T> void closeIndependently(final List<T> parts,
+                                       final BiConsumer<T, List<ExceptionDuringClose>> close,
+                                       final List<ExceptionDuringClose> exceptions,
+                                       final long deadline) {
+        if (parallelClose == null || parts.size() < 2) {
+            parts.forEach(part -> close.accept(part, exceptions));
+            return;
+        }
+        final List<List<ExceptionDuringClose>> exceptionsOfParts = new ArrayList<>(parts.size());
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(parts.size());
+        for (final T part : parts) {
+            final List<ExceptionDuringClose> exceptionsOfPart = synchronizedList(new ArrayList<>());
+            exceptionsOfParts.add(exceptionsOfPart);
+            futures.add(runAsync(() -> close.accept(part, exceptionsOfPart), parallelClose.executor()));
+        }
+        for (int i = 0; i < parts.size(); ++i) {
+            awaitClosing(parts.get(i), futures.get(i), deadline, exceptions, ignored -> {
+            });
+            final List<ExceptionDuringClose> exceptionsOfPart = exceptionsOfParts.get(i);
+            synchronized (exceptionsOfPart) {
+                exceptions.addAll(exceptionsOfPart);
+            }
+        }
+    }
+
+    private void closeSequentially(final List<ExceptionDuringClose> exceptions) {
+        final Iterator<Closeable> descendingIterator = closeables.descendingIterator();
+        while (descendingIterator.hasNext()) {
+            final Closeable closeable = descendingIterator.next();
             closeable.close()
                     .ifPresent(exceptions::add);
         }
     }
 
+    /**
+     * Closes one dependency layer after the other. Closers that time out or whose closing is interrupted keep
+     * running in the background, so instances of this scope they (transitively) depend on are reported instead of
+     * being closed underneath them. Dependencies in enclosing scopes and of externally registered objects are
+     * unknown and closed regardless. Once the closing thread is interrupted, no further layer is closed.
+     */
+    private void closeInParallel(final List<ExceptionDuringClose> exceptions, final long globalDeadline) {
+        final long globalTimeout = parallelClose.globalTimeout().toNanos();
+        final long perInstanceTimeout = parallelClose.perInstanceTimeout().toNanos();
+        boolean[] dependenciesOfUnfinishedInstances = null;
+        for (final List<Closeable> layer : layersInClosingOrder().values()) {
+            if (Thread.currentThread().isInterrupted()) {
+                layer.forEach(closeable -> exceptions.add(exceptionDuringClose(new InterruptedException(
+                        "not closed because closing was interrupted"), closeable.instance())));
+                continue;
+            }
+            final long layerStart = System.nanoTime();
+            if (layerStart - globalDeadline >= 0) {
+                layer.forEach(closeable -> exceptions.add(exceptionDuringClose(new TimeoutException(format(
+                        "not closed because closing did not complete within %dms",
+                        NANOSECONDS.toMillis(globalTimeout))), closeable.instance())));
+                continue;
+            }
+            final long layerDeadline = layerStart + Math.min(perInstanceTimeout, globalDeadline - layerStart);
+            final List<Closeable> closing = new ArrayList<>(layer.size());
+            final List<CompletableFuture<Optional<ExceptionDuringClose>>> futures = new ArrayList<>(layer.size());
+            for (final Closeable closeable : layer) {
+                if (isMarked(dependenciesOfUnfinishedInstances, closeable.typeId())) {
+                    exceptions.add(exceptionDuringClose(new TimeoutException(format(
+                            "not closed because closing of an instance depending on it did not complete within %dms",
+                            NANOSECONDS.toMillis(perInstanceTimeout))), closeable.instance()));
+                    continue;
+                }
+                closing.add(closeable);
+                futures.add(supplyAsync(closeable::close, parallelClose.executor()));
+            }
+            for (int i = 0; i < closing.size(); ++i) {
+                final Closeable closeable = closing.get(i);
+                final boolean completed = awaitClosing(closeable.instance(), futures.get(i), layerDeadline, exceptions,
+                        result -> result.ifPresent(exceptions::add));
+                if (!completed && closeable.typeId() != UNKNOWN_TYPE_ID) {
+                    if (dependenciesOfUnfinishedInstances == null) {
+                        dependenciesOfUnfinishedInstances = new boolean[resolutionTable.typeCount()];
+                    }
+                    resolutionTable.markDependenciesOf(closeable.typeId(), dependenciesOfUnfinishedInstances);
+                }
+            }
+        }
+    }
+
+    private static boolean isMarked(final boolean[] markedTypeIds, final int typeId) {
+        return markedTypeIds != null && typeId != UNKNOWN_TYPE_ID && markedTypeIds[typeId];
+    }
+
+    /**
+     * Returns {@code false} if the closing may still be running because it timed out or waiting for it was interrupted.
+     */
+    private static <T> boolean awaitClosing(final Object closed,
+                                            final CompletableFuture<T> future,
+                                            final long deadline,
+                                            final List<ExceptionDuringClose> exceptions,
+                                            final Consumer<T> onCompletion) {
+        final long start = System.nanoTime();
+        try {
+            onCompletion.accept(future.get(Math.max(0, deadline - start), NANOSECONDS));
+            return true;
+        } catch (final TimeoutException e) {
+            exceptions.add(exceptionDuringClose(new TimeoutException(format(
+                    "closing did not complete within %dms", NANOSECONDS.toMillis(deadline - start))), closed));
+            return false;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exceptions.add(exceptionDuringClose(new InterruptedException("closing was interrupted"), closed));
+            return false;
+        } catch (final ExecutionException e) {
+            exceptions.add(exceptionDuringClose(injectMaidException("closing failed", e.getCause()), closed));
+            return true;
+        }
+    }
+
+    private Map<Integer, List<Closeable>> layersInClosingOrder() {
+        final Map<Integer, List<Closeable>> layers = new TreeMap<>(Comparator.reverseOrder());
+        final Iterator<Closeable> descendingIterator = closeables.descendingIterator();
+        while (descendingIterator.hasNext()) {
+            final Closeable closeable = descendingIterator.next();
+            layers.computeIfAbsent(layerOf(closeable), layer -> new ArrayList<>())
+                    .add(closeable);
+        }
+        return layers;
+    }
+
+    private int layerOf(final Closeable closeable) {
+        final int typeId = closeable.typeId();
+        if (typeId == UNKNOWN_TYPE_ID) {
+            return EXTERNAL_OBJECTS_LAYER;
+        }
+        return resolutionTable.dependencyDepth(typeId);
+    }
+
     @Override
     public LifecycleManager child() {
         return this;
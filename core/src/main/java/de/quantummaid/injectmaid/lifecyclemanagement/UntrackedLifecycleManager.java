@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.lifecyclemanagement;
+
+import de.quantummaid.injectmaid.ResolutionTable;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static de.quantummaid.injectmaid.InjectMaidException.injectMaidException;
+import static java.lang.String.format;
+
+/**
+ * Used for scopes in which no instance can ever need closing. Instances of enclosing scopes are
+ * still registered with the enclosing lifecycle manager, but nothing is tracked for the scope itself.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class UntrackedLifecycleManager implements LifecycleManager {
+    private final LifecycleManager parent;
+
+    static LifecycleManager untrackedLifecycleManager(final LifecycleManager parent) {
+        return new UntrackedLifecycleManager(parent);
+    }
+
+    @Override
+    public LifecycleManager newInstance(final ResolutionTable resolutionTable) {
+        return parent.newInstance(resolutionTable);
+    }
+
+    @Override
+    public LifecycleManager untracked() {
+        return this;
+    }
+
+    @Override
+    public void registerInstance(final Object instance, final int scopeId, final int typeId) {
+        if (typeId == UNKNOWN_TYPE_ID) {
+            throw injectMaidException(format(
+                    "unable to register '%s' in untracked scope with id %d - this should never happen", instance, scopeId));
+        }
+        parent.registerInstance(instance, scopeId, typeId);
+    }
+
+    @Override
+    public boolean canClose(final int typeId) {
+        return parent.canClose(typeId);
+    }
+
+    @Override
+    public long closeDeadline() {
+        return parent.closeDeadline();
+    }
+
+    @Override
+    public void closeAll(final List<ExceptionDuringClose> exceptions, final long deadline) {
+        // do nothing
+    }
+
+    @Override
+    public <T> void closeIndependently(final List<T> parts,
+                                       final BiConsumer<T, List<ExceptionDuringClose>> close,
+                                       final List<ExceptionDuringClose> exceptions,
+                                       final long deadline) {
+        parent.closeIndependently(parts, close, exceptions, deadline);
+    }
+
+    @Override
+    public LifecycleManager child() {
+        return this;
+    }
+}
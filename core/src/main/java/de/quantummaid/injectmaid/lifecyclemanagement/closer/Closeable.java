@@ -33,11 +33,21 @@ import static de.quantummaid.injectmaid.lifecyclemanagement.ExceptionDuringClose
 public final class Closeable {
     private final Object instance;
     private final Closer closer;
-    private boolean closed;
+    private final int typeId;
+    private volatile boolean closed;
 
     public static Closeable closeable(final Object instance,
-                                      final Closer closer) {
-        return new Closeable(instance, closer, false);
+                                      final Closer closer,
+                                      final int typeId) {
+        return new Closeable(instance, closer, typeId, false);
+    }
+
+    public Object instance() {
+        return instance;
+    }
+
+    public int typeId() {
+        return typeId;
     }
 
     public Optional<ExceptionDuringClose> close() {
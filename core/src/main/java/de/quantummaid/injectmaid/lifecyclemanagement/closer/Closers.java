@@ -22,30 +22,61 @@
 package de.quantummaid.injectmaid.lifecyclemanagement.closer;
 
 import de.quantummaid.injectmaid.InjectMaid;
+import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 
+import java.lang.reflect.Modifier;
 import java.util.List;
 import java.util.Optional;
 
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public final class Closers {
-    private final List<Closer> closers;
+    private final ClassValue<Optional<Closer>> closersByClass;
 
     public static Closers closers(final List<Closer> closers) {
-        return new Closers(closers);
+        final List<Closer> closersCopy = List.copyOf(closers);
+        final ClassValue<Optional<Closer>> closersByClass = new ClassValue<>() {
+            @Override
+            protected Optional<Closer> computeValue(final Class<?> type) {
+                return closerFor(type, closersCopy);
+            }
+        };
+        return new Closers(closersByClass);
     }
 
-    public Optional<Closeable> createCloseable(final Object instance) {
-        if (instance instanceof InjectMaid) {
+    private static Optional<Closer> closerFor(final Class<?> type, final List<Closer> closers) {
+        if (InjectMaid.class.isAssignableFrom(type)) {
             return Optional.empty();
         }
         for (final Closer closer : closers) {
-            if (!closer.type().isInstance(instance)) {
-                continue;
+            if (closer.type().isAssignableFrom(type)) {
+                return Optional.of(closer);
             }
-            return Optional.of(Closeable.closeable(instance, closer));
         }
         return Optional.empty();
     }
+
+    public Optional<Closeable> createCloseable(final Object instance, final int typeId) {
+        if (instance == null) {
+            return Optional.empty();
+        }
+        return closersByClass.get(instance.getClass())
+                .map(closer -> Closeable.closeable(instance, closer, typeId));
+    }
+
+    /**
+     * Whether instances created for the given type can possibly be closed. Only final types can be ruled out,
+     * since instances of any other type might be of a closeable subclass.
+     */
+    public boolean canClose(final TypeIdentifier type) {
+        if (type.isVirtual()) {
+            return true;
+        }
+        final Class<?> declaredType = type.realType().assignableType();
+        if (!Modifier.isFinal(declaredType.getModifiers())) {
+            return true;
+        }
+        return closersByClass.get(declaredType).isPresent();
+    }
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.snapshot;
+
+import de.quantummaid.injectmaid.Definition;
+import de.quantummaid.injectmaid.api.ReusePolicy;
+import de.quantummaid.injectmaid.statemachine.TypeAndScope;
+import de.quantummaid.reflectmaid.ReflectMaid;
+import de.quantummaid.reflectmaid.typescanner.scopes.Scope;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static de.quantummaid.injectmaid.InjectMaidException.injectMaidException;
+import static de.quantummaid.injectmaid.snapshot.SnapshotEntry.outdated;
+import static de.quantummaid.injectmaid.statemachine.TypeAndScope.typeAndScope;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BuildSnapshot {
+    private static final String HEADER = "# injectmaid build snapshot v1";
+
+    private final List<SnapshotEntry> entries;
+
+    public static BuildSnapshot snapshotOf(final List<Definition> definitions) {
+        final List<SnapshotEntry> entries = definitions.stream()
+                .map(SnapshotEntry::snapshotEntry)
+                .sorted(Comparator.comparing(SnapshotEntry::scope).thenComparing(SnapshotEntry::type))
+                .collect(toList());
+        return new BuildSnapshot(entries);
+    }
+
+    public static BuildSnapshot parseSnapshot(final String serializedSnapshot) {
+        final List<String> lines = serializedSnapshot.lines()
+                .filter(line -> !line.isBlank())
+                .collect(toList());
+        if (lines.isEmpty() || !lines.get(0).equals(HEADER)) {
+            throw injectMaidException(format("Unsupported snapshot format, expected header '%s'", HEADER));
+        }
+        final List<SnapshotEntry> entries = lines.subList(1, lines.size()).stream()
+                .map(SnapshotEntry::parseSnapshotEntry)
+                .collect(toList());
+        return new BuildSnapshot(entries);
+    }
+
+    public static BuildSnapshot readSnapshot(final Path path) {
+        try {
+            return parseSnapshot(Files.readString(path, UTF_8));
+        } catch (final IOException e) {
+            throw injectMaidException(format("Unable to read snapshot from '%s'", path), e);
+        }
+    }
+
+    public void writeTo(final Path path) {
+        try {
+            Files.writeString(path, render(), UTF_8);
+        } catch (final IOException e) {
+            throw injectMaidException(format("Unable to write snapshot to '%s'", path), e);
+        }
+    }
+
+    public String render() {
+        return entries.stream()
+                .map(SnapshotEntry::render)
+                .collect(joining("\n", HEADER + "\n", "\n"));
+    }
+
+    public List<Definition> restoreDefinitions(final ReflectMaid reflectMaid,
+                                               final List<Scope> scopes,
+                                               final List<Definition> configuredDefinitions,
+                                               final Map<TypeAndScope, ReusePolicy> registeredReusePolicies) {
+        final Map<String, Scope> scopesByName = new HashMap<>(scopes.size());
+        scopes.forEach(scope -> scopesByName.put(scope.render(), scope));
+        final Map<String, Definition> remainingConfiguredDefinitions = new LinkedHashMap<>();
+        configuredDefinitions.forEach(definition -> remainingConfiguredDefinitions.putIfAbsent(
+                key(definition.scope().render(), definition.type().description()), definition));
+
+        final List<Definition> definitions = new ArrayList<>(entries.size());
+        for (final SnapshotEntry entry : entries) {
+            final Scope scope = scopesByName.get(entry.scope());
+            if (scope == null) {
+                throw outdated(format("scope '%s' is no longer configured", entry.scope()));
+            }
+            if (entry.isConfigured()) {
+                final Definition configuredDefinition = remainingConfiguredDefinitions.remove(key(entry.scope(), entry.type()));
+                if (configuredDefinition == null) {
+                    throw outdated(format("type '%s' is no longer configured in scope '%s'", entry.type(), entry.scope()));
+                }
+                if (entry.reusePolicy() != configuredDefinition.reusePolicy()) {
+                    throw reusePolicyChanged(entry.type(), entry.scope(), entry.reusePolicy(), configuredDefinition.reusePolicy());
+                }
+                entry.verifyDependenciesOf(configuredDefinition.instantiator());
+                definitions.add(configuredDefinition);
+            } else {
+                definitions.add(entry.restore(scope, reflectMaid));
+            }
+        }
+        if (!remainingConfiguredDefinitions.isEmpty()) {
+            final String missing = remainingConfiguredDefinitions.values().stream()
+                    .map(definition -> format("'%s' in scope '%s'", definition.type().description(), definition.scope().render()))
+                    .collect(joining(", "));
+            throw outdated(format("configured types %s are missing from the snapshot", missing));
+        }
+        verifyRegisteredTypes(definitions, registeredReusePolicies);
+        return definitions;
+    }
+
+    private static void verifyRegisteredTypes(final List<Definition> definitions,
+                                              final Map<TypeAndScope, ReusePolicy> registeredReusePolicies) {
+        final Map<TypeAndScope, ReusePolicy> restoredReusePolicies = new HashMap<>(definitions.size());
+        definitions.forEach(definition -> restoredReusePolicies.put(
+                typeAndScope(definition.type(), definition.scope()), definition.reusePolicy()));
+        registeredReusePolicies.forEach((registered, reusePolicy) -> {
+            final String type = registered.typeIdentifier().description();
+            final String scope = registered.scope().render();
+            final ReusePolicy restoredReusePolicy = restoredReusePolicies.get(registered);
+            if (restoredReusePolicy == null) {
+                throw outdated(format("registered type '%s' in scope '%s' is missing from the snapshot", type, scope));
+            }
+            if (restoredReusePolicy != reusePolicy) {
+                throw reusePolicyChanged(type, scope, restoredReusePolicy, reusePolicy);
+            }
+        });
+    }
+
+    private static RuntimeException reusePolicyChanged(final String type,
+                                                       final String scope,
+                                                       final ReusePolicy snapshotReusePolicy,
+                                                       final ReusePolicy registeredReusePolicy) {
+        return outdated(format("reuse policy of type '%s' in scope '%s' changed from %s to %s",
+                type, scope, snapshotReusePolicy, registeredReusePolicy));
+    }
+
+    private static String key(final String scope, final String type) {
+        return scope + "\t" + type;
+    }
+}
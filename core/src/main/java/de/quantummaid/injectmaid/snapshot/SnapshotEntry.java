@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.snapshot;
+
+import de.quantummaid.injectmaid.Definition;
+import de.quantummaid.injectmaid.api.ReusePolicy;
+import de.quantummaid.injectmaid.instantiator.*;
+import de.quantummaid.reflectmaid.ReflectMaid;
+import de.quantummaid.reflectmaid.resolvedtype.ClassType;
+import de.quantummaid.reflectmaid.resolvedtype.ResolvedType;
+import de.quantummaid.reflectmaid.resolvedtype.resolver.ResolvedMethod;
+import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
+import de.quantummaid.reflectmaid.typescanner.scopes.Scope;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static de.quantummaid.injectmaid.Definition.definition;
+import static de.quantummaid.injectmaid.InjectMaidException.injectMaidException;
+import static de.quantummaid.injectmaid.instantiator.NonStaticFactoryInstantiator.nonStaticFactoryInstantiator;
+import static de.quantummaid.injectmaid.instantiator.SelfInstantiator.selfInstantiator;
+import static de.quantummaid.injectmaid.instantiator.StaticFactoryInstantiator.staticFactoryInstantiator;
+import static de.quantummaid.reflectmaid.GenericType.genericType;
+import static de.quantummaid.reflectmaid.typescanner.TypeIdentifier.typeIdentifierFor;
+import static java.lang.String.format;
+import static java.lang.reflect.Modifier.isStatic;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class SnapshotEntry {
+    private static final String FIELD_SEPARATOR = "\t";
+    private static final String LIST_SEPARATOR = ";";
+    private static final String NONE = "-";
+    private static final int NUMBER_OF_FIELDS = 8;
+
+    private final String scope;
+    private final String type;
+    private final ReusePolicy reusePolicy;
+    private final SnapshotEntryKind kind;
+    private final String owner;
+    private final String member;
+    private final List<String> parameterTypes;
+    private final List<String> dependencies;
+
+    static SnapshotEntry snapshotEntry(final Definition definition) {
+        final Instantiator instantiator = definition.instantiator();
+        final String scope = definition.scope().render();
+        final ReusePolicy reusePolicy = definition.reusePolicy();
+        final List<String> dependencies = instantiator.dependencies().stream()
+                .map(TypeIdentifier::description)
+                .collect(toList());
+        if (instantiator instanceof ConstructorInstantiator) {
+            final Constructor<?> constructor = ((ConstructorInstantiator) instantiator).constructor().getConstructor();
+            return new SnapshotEntry(scope, rawTypeName(definition.type()), reusePolicy, SnapshotEntryKind.CONSTRUCTOR,
+                    constructor.getDeclaringClass().getName(), NONE, parameterTypeNames(constructor.getParameterTypes()), dependencies);
+        }
+        if (instantiator instanceof StaticFactoryInstantiator) {
+            final Method method = ((StaticFactoryInstantiator) instantiator).method().getMethod();
+            return new SnapshotEntry(scope, rawTypeName(definition.type()), reusePolicy, SnapshotEntryKind.STATIC_FACTORY,
+                    method.getDeclaringClass().getName(), method.getName(), parameterTypeNames(method.getParameterTypes()), dependencies);
+        }
+        if (instantiator instanceof NonStaticFactoryInstantiator) {
+            final NonStaticFactoryInstantiator factoryInstantiator = (NonStaticFactoryInstantiator) instantiator;
+            final Method method = factoryInstantiator.method().getMethod();
+            final String factoryType = rawTypeName(typeIdentifierFor(factoryInstantiator.factoryType()));
+            return new SnapshotEntry(scope, rawTypeName(definition.type()), reusePolicy, SnapshotEntryKind.NON_STATIC_FACTORY,
+                    factoryType, method.getName(), parameterTypeNames(method.getParameterTypes()), dependencies);
+        }
+        if (instantiator instanceof LazyInstantiator || instantiator instanceof ProviderInstantiator) {
+            throw injectMaidException(format("Cannot snapshot automatically detected generic type '%s'", definition.type().description()));
+        }
+        if (instantiator instanceof SelfInstantiator) {
+            return new SnapshotEntry(scope, rawTypeName(definition.type()), reusePolicy, SnapshotEntryKind.SELF,
+                    NONE, NONE, emptyList(), dependencies);
+        }
+        return new SnapshotEntry(scope, definition.type().description(), reusePolicy, SnapshotEntryKind.CONFIGURED,
+                NONE, NONE, emptyList(), dependencies);
+    }
+
+    static SnapshotEntry parseSnapshotEntry(final String line) {
+        final String[] fields = line.split(FIELD_SEPARATOR, -1);
+        if (fields.length != NUMBER_OF_FIELDS) {
+            throw injectMaidException(format("Malformed snapshot entry '%s'", line));
+        }
+        return new SnapshotEntry(
+                fields[0],
+                fields[1],
+                ReusePolicy.valueOf(fields[2]),
+                SnapshotEntryKind.valueOf(fields[3]),
+                fields[4],
+                fields[5],
+                parseList(fields[6]),
+                parseList(fields[7])
+        );
+    }
+
+    String render() {
+        return String.join(FIELD_SEPARATOR,
+                scope,
+                type,
+                reusePolicy.name(),
+                kind.name(),
+                owner,
+                member,
+                String.join(LIST_SEPARATOR, parameterTypes),
+                String.join(LIST_SEPARATOR, dependencies));
+    }
+
+    String scope() {
+        return scope;
+    }
+
+    String type() {
+        return type;
+    }
+
+    ReusePolicy reusePolicy() {
+        return reusePolicy;
+    }
+
+    boolean isConfigured() {
+        return kind == SnapshotEntryKind.CONFIGURED;
+    }
+
+    Definition restore(final Scope restoredScope, final ReflectMaid reflectMaid) {
+        final TypeIdentifier typeIdentifier = typeIdentifierFor(resolve(type, reflectMaid));
+        final Instantiator instantiator;
+        switch (kind) {
+            case CONSTRUCTOR:
+                instantiator = ownerType(reflectMaid).constructors().stream()
+                        .filter(constructor -> hasParameters(constructor.getConstructor().getParameterTypes()))
+                        .findFirst()
+                        .map(ConstructorInstantiator::constructorInstantiator)
+                        .orElseThrow(() -> outdated(format("constructor of '%s' no longer exists", owner)));
+                break;
+            case STATIC_FACTORY:
+                instantiator = staticFactoryInstantiator(findMethod(reflectMaid, true));
+                break;
+            case NON_STATIC_FACTORY:
+                instantiator = nonStaticFactoryInstantiator(findMethod(reflectMaid, false), ownerType(reflectMaid));
+                break;
+            case SELF:
+                instantiator = selfInstantiator();
+                break;
+            default:
+                throw injectMaidException(format("Snapshot entry of kind %s cannot be restored", kind));
+        }
+        verifyDependenciesOf(instantiator);
+        return definition(typeIdentifier, restoredScope, instantiator, reusePolicy);
+    }
+
+    void verifyDependenciesOf(final Instantiator instantiator) {
+        final List<String> actualDependencies = instantiator.dependencies().stream()
+                .map(TypeIdentifier::description)
+                .collect(toList());
+        if (!actualDependencies.equals(dependencies)) {
+            throw outdated(format("dependencies of '%s' changed from %s to %s", type, dependencies, actualDependencies));
+        }
+    }
+
+    private ResolvedMethod findMethod(final ReflectMaid reflectMaid, final boolean staticMethod) {
+        final Predicate<ResolvedMethod> matches = method -> method.getMethod().getName().equals(member)
+                && isStatic(method.getMethod().getModifiers()) == staticMethod
+                && hasParameters(method.getMethod().getParameterTypes());
+        return ownerType(reflectMaid).methods().stream()
+                .filter(matches)
+                .findFirst()
+                .orElseThrow(() -> outdated(format("method '%s.%s' no longer exists", owner, member)));
+    }
+
+    private ClassType ownerType(final ReflectMaid reflectMaid) {
+        return (ClassType) resolve(owner, reflectMaid);
+    }
+
+    private boolean hasParameters(final Class<?>[] actualParameterTypes) {
+        return parameterTypeNames(actualParameterTypes).equals(parameterTypes);
+    }
+
+    private static ResolvedType resolve(final String className, final ReflectMaid reflectMaid) {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        final ClassLoader classLoader;
+        if (contextClassLoader == null) {
+            classLoader = SnapshotEntry.class.getClassLoader();
+        } else {
+            classLoader = contextClassLoader;
+        }
+        try {
+            final Class<?> type = Class.forName(className, false, classLoader);
+            return reflectMaid.resolve(genericType(type));
+        } catch (final ClassNotFoundException e) {
+            throw outdated(format("class '%s' no longer exists", className));
+        }
+    }
+
+    private static String rawTypeName(final TypeIdentifier type) {
+        final Class<?> rawType = type.realType().assignableType();
+        if (rawType.getTypeParameters().length > 0) {
+            throw injectMaidException(format("Cannot snapshot automatically detected generic type '%s'", type.description()));
+        }
+        return rawType.getName();
+    }
+
+    private static List<String> parameterTypeNames(final Class<?>[] parameterTypes) {
+        return Arrays.stream(parameterTypes)
+                .map(Class::getName)
+                .collect(toList());
+    }
+
+    private static List<String> parseList(final String field) {
+        if (field.isEmpty()) {
+            return emptyList();
+        }
+        return List.of(field.split(LIST_SEPARATOR, -1));
+    }
+
+    static RuntimeException outdated(final String reason) {
+        return injectMaidException(format("Snapshot is out of date: %s", reason));
+    }
+}
@@ -35,6 +35,8 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Optional;
+
 import static de.quantummaid.injectmaid.detection.SingletonSwitch.singletonSwitch;
 import static de.quantummaid.injectmaid.statemachine.InjectMaidTypeScannerResult.result;
 
@@ -53,6 +55,25 @@ public final class InjectMaidDetector implements Detector<InjectMaidTypeScannerR
     public DetectionResult<InjectMaidTypeScannerResult> detect(@NotNull final TypeIdentifier type,
                                                                @NotNull final Scope scope,
                                                                @NotNull final DetectionRequirements detectionRequirements) {
+        return detect(type, scope);
+    }
+
+    /**
+     * The class whose constructors and factory methods {@link #detect(TypeIdentifier, Scope)} is going to inspect.
+     */
+    public Optional<Class<?>> creatingClass(final TypeIdentifier type) {
+        final Optional<ResolvedType> factory = factoryMapper.factoryFor(type);
+        if (factory.isPresent()) {
+            return Optional.of(factory.get().assignableType());
+        }
+        if (type.isVirtual()) {
+            return Optional.empty();
+        }
+        return Optional.of(type.realType().assignableType());
+    }
+
+    public DetectionResult<InjectMaidTypeScannerResult> detect(final TypeIdentifier type,
+                                                               final Scope scope) {
         final ReusePolicy oldReusePolicy = reusePolicyMapper.reusePolicyFor(type, scope);
         final SingletonSwitch singletonSwitch = singletonSwitch(oldReusePolicy);
         final ResolvedType factory = factoryMapper.factoryFor(type).orElse(type.realType());
@@ -21,6 +21,7 @@
 
 package de.quantummaid.injectmaid.statemachine;
 
+import de.quantummaid.injectmaid.instantiator.Instantiator;
 import de.quantummaid.reflectmaid.typescanner.Reason;
 import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
 import de.quantummaid.reflectmaid.typescanner.requirements.DetectionRequirements;
@@ -33,6 +34,7 @@ import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import static de.quantummaid.injectmaid.Requirements.REGISTERED;
 import static de.quantummaid.reflectmaid.typescanner.Reason.becauseOf;
@@ -52,9 +54,8 @@ public final class InjectMaidResolver implements Resolver<InjectMaidTypeScannerR
                                                              final @NotNull Scope scope,
                                                              final @NotNull DetectionRequirements detectionRequirements) {
         final Reason reason = becauseOf(type, scope);
-        return result.toDefinition()
-                .instantiator()
-                .dependencies().stream()
+        final Instantiator instantiator = result.toDefinition().instantiator();
+        return Stream.concat(instantiator.dependencies().stream(), instantiator.deferredDependencies().stream())
                 .map(dependency -> AddReasonSignal.<InjectMaidTypeScannerResult>addReasonSignal(
                         dependency, scope, REGISTERED, reason))
                 .collect(toList());
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.statemachine;
+
+import de.quantummaid.injectmaid.instantiator.Instantiator;
+import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
+import de.quantummaid.reflectmaid.typescanner.requirements.DetectionRequirements;
+import de.quantummaid.reflectmaid.typescanner.scopes.Scope;
+import de.quantummaid.reflectmaid.typescanner.states.DetectionResult;
+import de.quantummaid.reflectmaid.typescanner.states.Detector;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import static de.quantummaid.injectmaid.statemachine.TypeAndScope.typeAndScope;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+/**
+ * Runs detections ahead of the single-threaded typescanner state machine. Every prefetched
+ * detection schedules the detection of its dependencies, so the reflective scanning of a
+ * whole dependency graph is spread across the executor while the state machine still consumes
+ * the results in its own order.
+ *
+ * <p>ReflectMaid does not guarantee that its type caches can be used concurrently, so the detections
+ * themselves are serialized. Only the JDK reflection they are based on runs in parallel: loading the
+ * constructors, methods and annotations of a class up front fills the JDK's thread-safe caches.</p>
+ *
+ * <p>Dependencies are prefetched in the scope they will be resolved in, i.e. the innermost
+ * scope enclosing the dependent's scope that registers them.</p>
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ParallelDetector implements Detector<InjectMaidTypeScannerResult> {
+    private final InjectMaidDetector delegate;
+    private final Executor executor;
+    private final Map<TypeIdentifier, List<Scope>> registeredScopes;
+    private final Set<TypeAndScope> configuredTypes;
+    private final Object reflectMaidLock = new Object();
+    private final Map<TypeAndScope, CompletableFuture<DetectionResult<InjectMaidTypeScannerResult>>> detections =
+            new ConcurrentHashMap<>();
+
+    public static ParallelDetector parallelDetector(final InjectMaidDetector delegate,
+                                                    final Executor executor,
+                                                    final Collection<TypeAndScope> registeredTypes,
+                                                    final Set<TypeAndScope> configuredTypes) {
+        final Map<TypeIdentifier, List<Scope>> registeredScopes = new HashMap<>();
+        registeredTypes.forEach(registeredType -> registeredScopes
+                .computeIfAbsent(registeredType.typeIdentifier(), type -> new ArrayList<>())
+                .add(registeredType.scope()));
+        configuredTypes.forEach(configuredType -> registeredScopes
+                .computeIfAbsent(configuredType.typeIdentifier(), type -> new ArrayList<>())
+                .add(configuredType.scope()));
+        return new ParallelDetector(delegate, executor, registeredScopes, configuredTypes);
+    }
+
+    public void prefetch(final TypeIdentifier type,
+                         final Scope scope) {
+        detectionOf(type, scope);
+    }
+
+    @NotNull
+    @Override
+    public DetectionResult<InjectMaidTypeScannerResult> detect(@NotNull final TypeIdentifier type,
+                                                               @NotNull final Scope scope,
+                                                               @NotNull final DetectionRequirements detectionRequirements) {
+        try {
+            return detectionOf(type, scope).join();
+        } catch (final CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private CompletableFuture<DetectionResult<InjectMaidTypeScannerResult>> detectionOf(final TypeIdentifier type,
+                                                                                        final Scope scope) {
+        final CompletableFuture<DetectionResult<InjectMaidTypeScannerResult>> detection = new CompletableFuture<>();
+        final CompletableFuture<DetectionResult<InjectMaidTypeScannerResult>> existingDetection =
+                detections.putIfAbsent(typeAndScope(type, scope), detection);
+        if (existingDetection != null) {
+            return existingDetection;
+        }
+        supplyAsync(() -> detectAndPrefetchDependencies(type, scope), executor)
+                .whenComplete((result, exception) -> {
+                    if (exception == null) {
+                        detection.complete(result);
+                    } else {
+                        detection.completeExceptionally(exception);
+                    }
+                });
+        return detection;
+    }
+
+    private DetectionResult<InjectMaidTypeScannerResult> detectAndPrefetchDependencies(final TypeIdentifier type,
+                                                                                       final Scope scope) {
+        delegate.creatingClass(type).ifPresent(ParallelDetector::loadReflectionData);
+        final DetectionResult<InjectMaidTypeScannerResult> result;
+        synchronized (reflectMaidLock) {
+            result = delegate.detect(type, scope);
+        }
+        result.mapWithNull(scannerResult -> {
+            final Instantiator instantiator = scannerResult.toDefinition().instantiator();
+            instantiator.dependencies().forEach(dependency -> prefetchDependency(dependency, scope));
+            instantiator.deferredDependencies().forEach(dependency -> prefetchDependency(dependency, scope));
+            return scannerResult;
+        });
+        return result;
+    }
+
+    private void prefetchDependency(final TypeIdentifier dependency,
+                                    final Scope dependentScope) {
+        final Scope scope = resolvingScope(dependency, dependentScope);
+        if (configuredTypes.contains(typeAndScope(dependency, scope))) {
+            return;
+        }
+        prefetch(dependency, scope);
+    }
+
+    private Scope resolvingScope(final TypeIdentifier dependency,
+                                 final Scope dependentScope) {
+        Scope resolvingScope = null;
+        for (final Scope candidate : registeredScopes.getOrDefault(dependency, List.of())) {
+            if (!candidate.contains(dependentScope)) {
+                continue;
+            }
+            if (resolvingScope == null || candidate.size() > resolvingScope.size()) {
+                resolvingScope = candidate;
+            }
+        }
+        if (resolvingScope == null) {
+            return dependentScope;
+        }
+        return resolvingScope;
+    }
+
+    private static void loadReflectionData(final Class<?> type) {
+        type.getAnnotations();
+        for (final Constructor<?> constructor : type.getDeclaredConstructors()) {
+            constructor.getDeclaredAnnotations();
+        }
+        for (final Method method : type.getDeclaredMethods()) {
+            method.getDeclaredAnnotations();
+        }
+    }
+}
@@ -27,7 +27,9 @@ import de.quantummaid.reflectmaid.typescanner.scopes.Scope;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static de.quantummaid.injectmaid.statemachine.TypeAndScope.typeAndScope;
@@ -50,4 +52,12 @@ public final class ReusePolicyMapper {
     public ReusePolicy reusePolicyFor(final TypeIdentifier type, final Scope scope) {
         return reusePolicyMap.getOrDefault(typeAndScope(type, scope), defaultReusePolicy);
     }
+
+    public List<TypeAndScope> registeredTypes() {
+        return new ArrayList<>(reusePolicyMap.keySet());
+    }
+
+    public Map<TypeAndScope, ReusePolicy> registeredReusePolicies() {
+        return new LinkedHashMap<>(reusePolicyMap);
+    }
 }
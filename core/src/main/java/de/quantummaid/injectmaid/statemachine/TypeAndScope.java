@@ -39,4 +39,12 @@ public final class TypeAndScope {
                                             final Scope scope) {
         return new TypeAndScope(typeIdentifier, scope);
     }
+
+    public TypeIdentifier typeIdentifier() {
+        return typeIdentifier;
+    }
+
+    public Scope scope() {
+        return scope;
+    }
 }
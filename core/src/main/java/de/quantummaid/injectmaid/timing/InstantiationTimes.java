@@ -29,9 +29,9 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static de.quantummaid.injectmaid.InjectMaidException.injectMaidException;
 import static de.quantummaid.reflectmaid.GenericType.genericType;
@@ -41,7 +41,7 @@ import static java.util.stream.Collectors.joining;
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public final class InstantiationTimes {
     private final ReflectMaid reflectMaid;
-    private final Map<TypeIdentifier, InstantiationTime> instantiationTimes = new HashMap<>();
+    private final Map<TypeIdentifier, InstantiationTime> instantiationTimes = new ConcurrentHashMap<>();
 
     public static InstantiationTimes instantiationTimes(final ReflectMaid reflectMaid) {
         return new InstantiationTimes(reflectMaid);
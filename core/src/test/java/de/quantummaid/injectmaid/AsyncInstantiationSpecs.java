@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid;
+
+import de.quantummaid.injectmaid.domain.StringWrapper;
+import de.quantummaid.injectmaid.domain.ZeroArgumentsConstructorType;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static de.quantummaid.injectmaid.InjectMaid.anInjectMaid;
+import static de.quantummaid.injectmaid.api.ReusePolicy.DEFAULT_SINGLETON;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class AsyncInstantiationSpecs {
+    private static final long TIMEOUT_IN_SECONDS = 10;
+
+    @Test
+    public void independentDependenciesAreInstantiatedConcurrently() throws Exception {
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            final InjectMaid injectMaid = anInjectMaid()
+                    .withCustomType(ZeroArgumentsConstructorType.class, () -> {
+                        bothStarted.countDown();
+                        await(bothStarted);
+                        return new ZeroArgumentsConstructorType();
+                    })
+                    .withCustomType(Integer.class, () -> {
+                        bothStarted.countDown();
+                        return await(bothStarted) ? 1 : 0;
+                    })
+                    .withCustomType(StringWrapper.class, ZeroArgumentsConstructorType.class, Integer.class,
+                            (zeroArgumentsConstructorType, integer) -> new StringWrapper("released" + integer))
+                    .instantiatingAsynchronouslyOn(executorService)
+                    .build();
+
+            final StringWrapper instance = injectMaid.getInstanceAsync(StringWrapper.class)
+                    .get(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+
+            assertThat(instance.string, is("released1"));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void asyncCustomTypesCanBeInstantiatedSynchronouslyAndAsynchronously() throws Exception {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withAsyncCustomType(StringWrapper.class, ZeroArgumentsConstructorType.class,
+                        zeroArgumentsConstructorType -> completedFuture(new StringWrapper("async")))
+                .build();
+
+        assertThat(injectMaid.getInstance(StringWrapper.class).string, is("async"));
+        assertThat(injectMaid.getInstanceAsync(StringWrapper.class).get(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS).string, is("async"));
+    }
+
+    @Test
+    public void asyncSingletonIsInstantiatedOnceForConcurrentRequests() throws Exception {
+        final AtomicInteger instantiations = new AtomicInteger();
+        final CompletableFuture<StringWrapper> pendingInstance = new CompletableFuture<>();
+        final InjectMaid injectMaid = anInjectMaid()
+                .withAsyncCustomType(StringWrapper.class, () -> {
+                    instantiations.incrementAndGet();
+                    return pendingInstance;
+                }, DEFAULT_SINGLETON)
+                .build();
+
+        final CompletableFuture<StringWrapper> first = injectMaid.getInstanceAsync(StringWrapper.class);
+        final CompletableFuture<StringWrapper> second = injectMaid.getInstanceAsync(StringWrapper.class);
+        pendingInstance.complete(new StringWrapper("singleton"));
+
+        final StringWrapper instance = first.get(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+        assertThat(second.get(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS), sameInstance(instance));
+        assertThat(injectMaid.getInstance(StringWrapper.class), sameInstance(instance));
+        assertThat(instantiations.get(), is(1));
+    }
+
+    @Test
+    public void singletonRequestedDuringItsOwnAsyncInstantiationFailsInsteadOfDeadlocking() {
+        final AtomicReference<InjectMaid> injector = new AtomicReference<>();
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final InjectMaid injectMaid = anInjectMaid()
+                    .withCustomType(StringWrapper.class, () -> injector.get().getInstance(StringWrapper.class), DEFAULT_SINGLETON)
+                    .instantiatingAsynchronouslyOn(executorService)
+                    .build();
+            injector.set(injectMaid);
+
+            final ExecutionException exception = catchExecutionException(injectMaid.getInstanceAsync(StringWrapper.class));
+
+            assertThat(exception.getCause(), instanceOf(InjectMaidException.class));
+            assertThat(exception.getCause().getCause().getMessage(),
+                    containsString("has been requested during its own instantiation"));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failedAsyncInstantiationCompletesTheFutureExceptionally() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withAsyncCustomType(StringWrapper.class, () -> failedFuture(new IllegalStateException("failing factory")))
+                .build();
+
+        final CompletableFuture<StringWrapper> future = injectMaid.getInstanceAsync(StringWrapper.class);
+        final ExecutionException exception = catchExecutionException(future);
+
+        assertThat(exception.getCause(), instanceOf(InjectMaidException.class));
+        assertThat(exception.getCause().getMessage(), containsString("Exception during instantiation of 'StringWrapper'"));
+        assertThat(exception.getCause().getCause(), instanceOf(IllegalStateException.class));
+    }
+
+    @Test
+    public void unregisteredTypesCompleteTheFutureExceptionally() {
+        final InjectMaid injectMaid = anInjectMaid().build();
+
+        final ExecutionException exception = catchExecutionException(injectMaid.getInstanceAsync(StringWrapper.class));
+
+        assertThat(exception.getCause(), instanceOf(InjectMaidException.class));
+        assertThat(exception.getCause().getMessage(), containsString("Cannot instantiate unregistered type"));
+    }
+
+    private static ExecutionException catchExecutionException(final CompletableFuture<?> future) {
+        try {
+            future.get(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+        } catch (final ExecutionException e) {
+            return e;
+        } catch (final InterruptedException | TimeoutException e) {
+            throw new AssertionError(e);
+        }
+        throw new AssertionError("expected the future to complete exceptionally");
+    }
+
+    private static boolean await(final CountDownLatch latch) {
+        try {
+            return latch.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -28,6 +28,7 @@ import de.quantummaid.injectmaid.failing.SelfReferencingType;
 import org.junit.jupiter.api.Test;
 
 import static de.quantummaid.injectmaid.InjectMaid.anInjectMaid;
+import static de.quantummaid.injectmaid.testsupport.SyntheticGraph.registerLadder;
 import static de.quantummaid.injectmaid.testsupport.TestSupport.catchException;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -85,4 +86,23 @@ public final class CircularDependencySpecs {
                 is("Illegal circular dependency in scope '/Request' detected: CircularTypeB -> CircularTypeA -> CircularTypeB")
         ));
     }
+
+    @Test
+    public void largeGraphsWithSharedDependenciesAreValidated() {
+        final InjectMaid injectMaid = ladder(1_000, false).build();
+        assertThat(injectMaid, notNullValue());
+    }
+
+    @Test
+    public void circlesAtTheEndOfLargeGraphsAreDetected() {
+        final Exception exception = catchException(() -> ladder(1_000, true).build());
+        assertThat(exception, instanceOf(InjectMaidException.class));
+        assertThat(exception.getMessage(), startsWith("Illegal circular dependency in scope '/' detected: "));
+    }
+
+    private static InjectMaidBuilder ladder(final int layers, final boolean closeCircle) {
+        final InjectMaidBuilder builder = anInjectMaid();
+        registerLadder(builder, layers, closeCircle);
+        return builder;
+    }
 }
@@ -22,18 +22,31 @@
 package de.quantummaid.injectmaid;
 
 import de.quantummaid.injectmaid.api.Injector;
+import de.quantummaid.injectmaid.domain.StringWrapper;
 import de.quantummaid.injectmaid.domain.closing.AutoclosableType;
 import de.quantummaid.injectmaid.domain.closing.AutoclosableWithDependency;
 import de.quantummaid.injectmaid.domain.closing.CountingClosable;
+import de.quantummaid.injectmaid.domain.closing.InjectorHoldingClosable;
+import de.quantummaid.injectmaid.domain.closing.LatchedClosable;
 import de.quantummaid.injectmaid.domain.closing.NonAutoclosableType;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static de.quantummaid.injectmaid.InjectMaid.anInjectMaid;
+import static de.quantummaid.injectmaid.api.ReusePolicy.DEFAULT_SINGLETON;
 import static de.quantummaid.injectmaid.api.ReusePolicy.EAGER_SINGLETON;
 import static de.quantummaid.injectmaid.testsupport.TestSupport.catchException;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 
 public final class CloseSpecs {
 
@@ -228,6 +241,17 @@ public final class CloseSpecs {
         }
     }
 
+    @Test
+    public void closeableInstancesOfNonFinalDeclaredTypesAreClosed() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withCustomType(AutoCloseable.class, AutoclosableType::new)
+                .withLifecycleManagement()
+                .build();
+        final AutoclosableType instance = (AutoclosableType) injectMaid.getInstance(AutoCloseable.class);
+        injectMaid.close();
+        assertThat(instance.closed, is(true));
+    }
+
     @Test
     public void injectMaidDoesNotTryToCloseItselfAsAutoclosableWhichWouldLeadToStackoverflow() {
         final InjectMaid injectMaid = anInjectMaid()
@@ -315,4 +339,335 @@ public final class CloseSpecs {
         injectMaid.close();
         assertThat(autoclosableType.closed, is(true));
     }
+
+    @Test
+    public void scopesEnteredConcurrentlyAreAllClosedWithTheirParent() throws Exception {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withScope(String.class, builder -> builder.withType(AutoclosableType.class, DEFAULT_SINGLETON))
+                .withLifecycleManagement()
+                .build();
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+        final List<Future<AutoclosableType>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 200; ++i) {
+                final String scopeObject = "scope" + i;
+                futures.add(executorService.submit(() -> injectMaid.enterScope(scopeObject).getInstance(AutoclosableType.class)));
+            }
+            final List<AutoclosableType> instances = new ArrayList<>();
+            for (final Future<AutoclosableType> future : futures) {
+                instances.add(future.get(10, TimeUnit.SECONDS));
+            }
+            injectMaid.close();
+            instances.forEach(instance -> assertThat(instance.closed, is(true)));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void leakedScopesAreReportedAndClosedWhenTrackedWeakly() throws InterruptedException {
+        final List<String> leakedScopes = new CopyOnWriteArrayList<>();
+        final InjectMaid injectMaid = anInjectMaid()
+                .withScope(String.class, builder -> builder.withType(AutoclosableType.class, DEFAULT_SINGLETON))
+                .withLifecycleManagement()
+                .trackingLeakedScopes((scope, exceptionsDuringClose) -> leakedScopes.add(scope))
+                .build();
+        final AutoclosableType instance = instanceFromAbandonedScope(injectMaid);
+
+        for (int i = 0; i < 100 && leakedScopes.isEmpty(); ++i) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertThat(leakedScopes, contains("/String"));
+        assertThat(instance.closed, is(true));
+        injectMaid.close();
+        assertThat(leakedScopes, contains("/String"));
+    }
+
+    @Test
+    public void closedScopesAreNotReportedAsLeakedWhenTrackedWeakly() throws InterruptedException {
+        final List<String> leakedScopes = new CopyOnWriteArrayList<>();
+        final InjectMaid injectMaid = anInjectMaid()
+                .withScope(String.class, builder -> builder.withType(AutoclosableType.class, DEFAULT_SINGLETON))
+                .withLifecycleManagement()
+                .trackingLeakedScopes((scope, exceptionsDuringClose) -> leakedScopes.add(scope))
+                .build();
+        final Injector scope = injectMaid.enterScope("foo");
+        final AutoclosableType instance = scope.getInstance(AutoclosableType.class);
+        scope.close();
+        assertThat(instance.closed, is(true));
+
+        System.gc();
+        Thread.sleep(20);
+        assertThat(leakedScopes.isEmpty(), is(true));
+    }
+
+    @Test
+    public void independentInstancesAreClosedInParallelWhenConfigured() {
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            final InjectMaid injectMaid = anInjectMaid()
+                    .withLifecycleManagement()
+                    .closingInParallel(executorService, Duration.ofSeconds(10), Duration.ofSeconds(10))
+                    .build();
+            final CountDownLatch bothClosing = new CountDownLatch(2);
+            final LatchedClosable instance1 = new LatchedClosable(bothClosing);
+            final LatchedClosable instance2 = new LatchedClosable(bothClosing);
+            injectMaid.registerExternalObjectToLifecycleManagement(instance1);
+            injectMaid.registerExternalObjectToLifecycleManagement(instance2);
+
+            injectMaid.close();
+            assertThat(instance1.closed, is(true));
+            assertThat(instance2.closed, is(true));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void dependenciesAreClosedAfterTheDependingClassIsClosedWhenClosingInParallel() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withType(AutoclosableWithDependency.class)
+                .withLifecycleManagement()
+                .closingInParallel(Duration.ofSeconds(10), Duration.ofSeconds(10))
+                .build();
+        final AutoclosableWithDependency instance = injectMaid.getInstance(AutoclosableWithDependency.class);
+        injectMaid.close();
+        assertThat(instance.closed, is(true));
+        assertThat(instance.dependencyHasBeenClosedFirst, is(false));
+        assertThat(instance.dependency.closed, is(true));
+    }
+
+    @Test
+    public void slowClosingsAreReportedWhenExceedingThePerInstanceTimeout() {
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final InjectMaid injectMaid = anInjectMaid()
+                    .withLifecycleManagement()
+                    .closingInParallel(executorService, Duration.ofMillis(50), Duration.ofSeconds(10))
+                    .build();
+            final LatchedClosable instance = new LatchedClosable(new CountDownLatch(2));
+            injectMaid.registerExternalObjectToLifecycleManagement(instance);
+
+            final Exception exception = catchException(injectMaid::close);
+            assertThat(exception, instanceOf(InjectMaidException.class));
+            assertThat(exception.getMessage(), containsString("closing did not complete within"));
+            assertThat(exception.getSuppressed()[0], instanceOf(TimeoutException.class));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void instancesThatHaveNotBeenClosedBeforeTheGlobalTimeoutAreReported() {
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final InjectMaid injectMaid = anInjectMaid()
+                    .withType(AutoclosableType.class)
+                    .withLifecycleManagement()
+                    .closingInParallel(executorService, Duration.ofSeconds(10), Duration.ofMillis(50))
+                    .build();
+            final AutoclosableType autoclosableType = injectMaid.getInstance(AutoclosableType.class);
+            injectMaid.registerExternalObjectToLifecycleManagement(new LatchedClosable(new CountDownLatch(2)));
+
+            final Exception exception = catchException(injectMaid::close);
+            assertThat(exception.getMessage(), containsString("not closed because closing did not complete within 50ms"));
+            assertThat(exception.getSuppressed().length, is(2));
+            assertThat(autoclosableType.closed, is(false));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void dependenciesOfInstancesThatExceededThePerInstanceTimeoutAreNotClosed() {
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final InjectMaid injectMaid = anInjectMaid()
+                    .withType(AutoclosableType.class, DEFAULT_SINGLETON)
+                    .withCustomType(LatchedClosable.class, AutoclosableType.class,
+                            dependency -> new LatchedClosable(new CountDownLatch(2)))
+                    .withLifecycleManagement()
+                    .closingInParallel(executorService, Duration.ofMillis(50), Duration.ofSeconds(10))
+                    .build();
+            final AutoclosableType dependency = injectMaid.getInstance(AutoclosableType.class);
+            injectMaid.getInstance(LatchedClosable.class);
+
+            final Exception exception = catchException(injectMaid::close);
+            assertThat(exception.getMessage(), containsString("closing did not complete within"));
+            assertThat(exception.getMessage(), containsString(
+                    "not closed because closing of an instance depending on it did not complete within 50ms"));
+            assertThat(exception.getSuppressed().length, is(2));
+            assertThat(dependency.closed, is(false));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void oneGlobalTimeoutCoversAllChildScopes() {
+        final ExecutorService executorService = Executors.newFixedThreadPool(6);
+        try {
+            final InjectMaid injectMaid = anInjectMaid()
+                    .withScope(String.class, builder -> builder.withType(AutoclosableType.class))
+                    .withLifecycleManagement()
+                    .closingInParallel(executorService, Duration.ofSeconds(10), Duration.ofMillis(300))
+                    .build();
+            for (int i = 0; i < 3; ++i) {
+                final InjectMaid scope = (InjectMaid) injectMaid.enterScope("scope" + i);
+                scope.registerExternalObjectToLifecycleManagement(new LatchedClosable(new CountDownLatch(2)));
+            }
+
+            final long start = System.nanoTime();
+            final Exception exception = catchException(injectMaid::close);
+            final long durationInMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertThat(exception.getMessage(), containsString("closing did not complete within"));
+            assertThat(durationInMillis < 600, is(true));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void dependenciesOfInstancesWhoseClosingWasInterruptedAreNotClosed() throws InterruptedException {
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final CountDownLatch latch = new CountDownLatch(2);
+            final InjectMaid injectMaid = anInjectMaid()
+                    .withType(AutoclosableType.class, DEFAULT_SINGLETON)
+                    .withCustomType(LatchedClosable.class, AutoclosableType.class,
+                            dependency -> new LatchedClosable(latch))
+                    .withLifecycleManagement()
+                    .closingInParallel(executorService, Duration.ofSeconds(10), Duration.ofSeconds(10))
+                    .build();
+            final AutoclosableType dependency = injectMaid.getInstance(AutoclosableType.class);
+            injectMaid.getInstance(LatchedClosable.class);
+
+            final AtomicReference<Exception> exception = new AtomicReference<>();
+            final AtomicBoolean interruptFlagPreserved = new AtomicBoolean();
+            final Thread closingThread = new Thread(() -> {
+                exception.set(catchException(injectMaid::close));
+                interruptFlagPreserved.set(Thread.currentThread().isInterrupted());
+            });
+            closingThread.start();
+            while (latch.getCount() == 2) {
+                Thread.sleep(1);
+            }
+            closingThread.interrupt();
+            closingThread.join();
+
+            assertThat(exception.get().getMessage(), containsString("not closed because closing was interrupted"));
+            assertThat(exception.get().getSuppressed().length, is(2));
+            assertThat(exception.get().getSuppressed()[0].getMessage(), is("closing was interrupted"));
+            assertThat(dependency.closed, is(false));
+            assertThat(interruptFlagPreserved.get(), is(true));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void closingInParallelRequiresLifecycleManagement() {
+        final Exception exception = catchException(() -> anInjectMaid()
+                .closingInParallel(Duration.ofSeconds(10), Duration.ofSeconds(10))
+                .build());
+        assertThat(exception, instanceOf(InjectMaidException.class));
+        assertThat(exception.getMessage(), is("can only close in parallel if lifecycle management is activated"));
+    }
+
+    @Test
+    public void scopesWithoutCloseableTypesAreNotRegisteredWithTheirParent() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withType(AutoclosableType.class)
+                .withScope(String.class, builder -> builder.withCustomType(StringWrapper.class, String.class, StringWrapper::new))
+                .withLifecycleManagement()
+                .build();
+        injectMaid.enterScope("foo");
+        assertThat(injectMaid.childScopeCount(), is(0));
+    }
+
+    @Test
+    public void scopesWithCloseableTypesAreRegisteredWithTheirParent() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withScope(String.class, builder -> builder.withType(AutoclosableType.class))
+                .withLifecycleManagement()
+                .build();
+        final Injector scope = injectMaid.enterScope("foo");
+        assertThat(injectMaid.childScopeCount(), is(1));
+        scope.close();
+        assertThat(injectMaid.childScopeCount(), is(0));
+    }
+
+    @Test
+    public void instancesOfOuterScopesCreatedInScopesWithoutCloseableTypesAreClosed() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withType(AutoclosableType.class, DEFAULT_SINGLETON)
+                .withScope(String.class, builder -> builder.withCustomType(StringWrapper.class, String.class, StringWrapper::new))
+                .withLifecycleManagement()
+                .build();
+        final Injector scope = injectMaid.enterScope("foo");
+        final AutoclosableType instance = scope.getInstance(AutoclosableType.class);
+        scope.close();
+        assertThat(instance.closed, is(false));
+
+        injectMaid.close();
+        assertThat(instance.closed, is(true));
+    }
+
+    @Test
+    public void externalObjectsCanBeRegisteredInScopesWithoutCloseableTypes() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withScope(String.class, builder -> builder.withCustomType(StringWrapper.class, String.class, StringWrapper::new))
+                .withLifecycleManagement()
+                .build();
+        final InjectMaid scope = (InjectMaid) injectMaid.enterScope("foo");
+        final AutoclosableType autoclosableType = new AutoclosableType();
+
+        scope.registerExternalObjectToLifecycleManagement(autoclosableType);
+        assertThat(injectMaid.childScopeCount(), is(1));
+
+        scope.close();
+        assertThat(autoclosableType.closed, is(true));
+        assertThat(injectMaid.childScopeCount(), is(0));
+    }
+
+    @Test
+    public void externalObjectsRegisteredInNestedScopesWithoutCloseableTypesAreClosedWithTheRoot() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withScope(String.class, builder -> builder.withScope(Integer.class, innerBuilder -> {
+                    // do nothing
+                }))
+                .withLifecycleManagement()
+                .build();
+        final InjectMaid outerScope = (InjectMaid) injectMaid.enterScope("foo");
+        final InjectMaid innerScope = (InjectMaid) outerScope.enterScope(1);
+        final AutoclosableType autoclosableType = new AutoclosableType();
+
+        innerScope.registerExternalObjectToLifecycleManagement(autoclosableType);
+        injectMaid.close();
+        assertThat(autoclosableType.closed, is(true));
+    }
+
+    @Test
+    public void abandonedScopesWhoseClosablesHoldTheirInjectorAreClosedWithTheirParent() {
+        final List<String> leakedScopes = new CopyOnWriteArrayList<>();
+        final InjectMaid injectMaid = anInjectMaid()
+                .withScope(String.class, builder -> builder.withType(InjectorHoldingClosable.class, DEFAULT_SINGLETON))
+                .withLifecycleManagement()
+                .trackingLeakedScopes((scope, exceptionsDuringClose) -> leakedScopes.add(scope))
+                .build();
+        final InjectorHoldingClosable instance = injectMaid.enterScope("foo").getInstance(InjectorHoldingClosable.class);
+        assertThat(injectMaid.childScopeCount(), is(1));
+
+        injectMaid.close();
+        assertThat(instance.closed, is(true));
+        assertThat(leakedScopes.isEmpty(), is(true));
+        assertThat(injectMaid.childScopeCount(), is(0));
+    }
+
+    private static AutoclosableType instanceFromAbandonedScope(final InjectMaid injectMaid) {
+        final Injector scope = injectMaid.enterScope("foo");
+        return scope.getInstance(AutoclosableType.class);
+    }
 }
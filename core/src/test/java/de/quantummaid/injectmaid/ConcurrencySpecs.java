@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid;
+
+import de.quantummaid.injectmaid.api.Injector;
+import de.quantummaid.injectmaid.api.ReusePolicy;
+import de.quantummaid.injectmaid.domain.StringWrapper;
+import de.quantummaid.injectmaid.domain.ZeroArgumentsConstructorType;
+import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.quantummaid.injectmaid.InjectMaid.anInjectMaid;
+import static de.quantummaid.injectmaid.api.ReusePolicy.DEFAULT_SINGLETON;
+import static de.quantummaid.injectmaid.api.ReusePolicy.EAGER_SINGLETON;
+import static de.quantummaid.injectmaid.api.ReusePolicy.PROTOTYPE;
+import static de.quantummaid.injectmaid.api.customtype.CustomTypeInstantiator.customTypeInstantiator;
+import static de.quantummaid.injectmaid.testsupport.TestSupport.catchException;
+import static de.quantummaid.reflectmaid.typescanner.TypeIdentifier.uniqueVirtualTypeIdentifier;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class ConcurrencySpecs {
+    private static final int THREADS = 32;
+    private static final int ROUNDS = 50;
+    private static final long TIMEOUT_IN_SECONDS = 10;
+    private static final int DEEP_CHAIN_LENGTH = 20_000;
+
+    @Test
+    public void lazySingletonIsInstantiatedExactlyOnceUnderContention() throws Exception {
+        for (int round = 0; round < ROUNDS; ++round) {
+            final AtomicInteger instantiations = new AtomicInteger();
+            final InjectMaid injectMaid = anInjectMaid()
+                    .withCustomType(StringWrapper.class, () -> {
+                        instantiations.incrementAndGet();
+                        Thread.yield();
+                        return new StringWrapper("singleton");
+                    }, DEFAULT_SINGLETON)
+                    .build();
+
+            final List<StringWrapper> instances = concurrently(() -> injectMaid.getInstance(StringWrapper.class));
+
+            assertThat(instantiations.get(), is(1));
+            final StringWrapper first = instances.get(0);
+            instances.forEach(instance -> assertThat(instance, sameInstance(first)));
+        }
+    }
+
+    @Test
+    public void lazySingletonInNestedScopeIsInstantiatedExactlyOncePerScopeUnderContention() throws Exception {
+        final AtomicInteger instantiations = new AtomicInteger();
+        final InjectMaid injectMaid = anInjectMaid()
+                .withScope(String.class, builder -> builder.withCustomType(StringWrapper.class, String.class, string -> {
+                    instantiations.incrementAndGet();
+                    Thread.yield();
+                    return new StringWrapper(string);
+                }, DEFAULT_SINGLETON))
+                .build();
+        final Injector scopedInjector = injectMaid.enterScope(String.class, "scoped");
+
+        final List<StringWrapper> instances = concurrently(() -> scopedInjector.getInstance(StringWrapper.class));
+
+        assertThat(instantiations.get(), is(1));
+        instances.forEach(instance -> assertThat(instance.string, is("scoped")));
+    }
+
+    @Test
+    public void prototypesAreInstantiatedOncePerRequestUnderContention() throws Exception {
+        final AtomicInteger instantiations = new AtomicInteger();
+        final InjectMaid injectMaid = anInjectMaid()
+                .withCustomType(StringWrapper.class, () -> {
+                    instantiations.incrementAndGet();
+                    return new StringWrapper("prototype");
+                }, PROTOTYPE)
+                .build();
+
+        final List<StringWrapper> instances = concurrently(() -> injectMaid.getInstance(StringWrapper.class));
+
+        assertThat(instantiations.get(), is(THREADS));
+        assertThat(instances.size(), is(THREADS));
+    }
+
+    @Test
+    public void independentSingletonsCanBeInitializedInParallel() throws Exception {
+        final CountDownLatch slowSingletonStarted = new CountDownLatch(1);
+        final CountDownLatch fastSingletonCreated = new CountDownLatch(1);
+        final InjectMaid injectMaid = anInjectMaid()
+                .withCustomType(StringWrapper.class, () -> {
+                    slowSingletonStarted.countDown();
+                    final boolean released = await(fastSingletonCreated);
+                    return new StringWrapper(String.valueOf(released));
+                }, DEFAULT_SINGLETON)
+                .withCustomType(ZeroArgumentsConstructorType.class, ZeroArgumentsConstructorType::new, DEFAULT_SINGLETON)
+                .build();
+
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final Future<StringWrapper> slowSingleton = executorService.submit(() -> injectMaid.getInstance(StringWrapper.class));
+            assertThat(slowSingletonStarted.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS), is(true));
+
+            final ZeroArgumentsConstructorType fastSingleton = injectMaid.getInstance(ZeroArgumentsConstructorType.class);
+            assertThat(fastSingleton, notNullValue());
+            fastSingletonCreated.countDown();
+
+            assertThat(slowSingleton.get(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS).string, is("true"));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failedSingletonInstantiationIsRetriedOnNextRequest() {
+        final AtomicInteger attempts = new AtomicInteger();
+        final InjectMaid injectMaid = anInjectMaid()
+                .withCustomType(StringWrapper.class, () -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        throw new IllegalStateException("first attempt fails");
+                    }
+                    return new StringWrapper("second attempt");
+                }, DEFAULT_SINGLETON)
+                .build();
+
+        final Exception exception = catchException(() -> injectMaid.getInstance(StringWrapper.class));
+        assertThat(exception, instanceOf(InjectMaidException.class));
+
+        final StringWrapper instance1 = injectMaid.getInstance(StringWrapper.class);
+        final StringWrapper instance2 = injectMaid.getInstance(StringWrapper.class);
+        assertThat(instance1.string, is("second attempt"));
+        assertThat(instance2, sameInstance(instance1));
+        assertThat(attempts.get(), is(2));
+    }
+
+    @Test
+    public void independentEagerSingletonsAreInitializedInParallelWhenConfigured() {
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            final InjectMaid injectMaid = anInjectMaid()
+                    .withCustomType(StringWrapper.class, () -> {
+                        bothStarted.countDown();
+                        return new StringWrapper(String.valueOf(await(bothStarted)));
+                    }, EAGER_SINGLETON)
+                    .withCustomType(ZeroArgumentsConstructorType.class, () -> {
+                        bothStarted.countDown();
+                        await(bothStarted);
+                        return new ZeroArgumentsConstructorType();
+                    }, EAGER_SINGLETON)
+                    .initializingSingletonsInParallel(executorService)
+                    .build();
+
+            assertThat(injectMaid.getInstance(StringWrapper.class).string, is("true"));
+            assertThat(injectMaid.instantiationTimes().render(), containsString("StringWrapper"));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void eagerSingletonsAreInitializedAfterTheirDependenciesWhenInitializedInParallel() {
+        final List<String> initializationOrder = Collections.synchronizedList(new ArrayList<>());
+        final InjectMaid injectMaid = anInjectMaid()
+                .withCustomType(StringWrapper.class, ZeroArgumentsConstructorType.class, dependency -> {
+                    initializationOrder.add("StringWrapper");
+                    return new StringWrapper("dependent");
+                }, EAGER_SINGLETON)
+                .withCustomType(ZeroArgumentsConstructorType.class, () -> {
+                    initializationOrder.add("ZeroArgumentsConstructorType");
+                    return new ZeroArgumentsConstructorType();
+                }, EAGER_SINGLETON)
+                .initializingSingletonsInParallel()
+                .build();
+
+        assertThat(initializationOrder, is(List.of("ZeroArgumentsConstructorType", "StringWrapper")));
+        assertThat(injectMaid.getInstance(StringWrapper.class).string, is("dependent"));
+    }
+
+    @Test
+    public void deepDependencyChainsOfEagerSingletonsCanBeInitializedInParallel() {
+        final InjectMaidBuilder builder = anInjectMaid();
+        TypeIdentifier previous = null;
+        for (int depth = 0; depth < DEEP_CHAIN_LENGTH; ++depth) {
+            final TypeIdentifier type = uniqueVirtualTypeIdentifier();
+            final List<TypeIdentifier> dependencies = previous == null ? List.of() : List.of(previous);
+            final ReusePolicy reusePolicy = depth % 2 == 0 ? EAGER_SINGLETON : PROTOTYPE;
+            builder.withInstantiator(type, customTypeInstantiator(dependencies, ConcurrencySpecs::depth), reusePolicy);
+            previous = type;
+        }
+        final InjectMaid injectMaid = builder
+                .initializingSingletonsInParallel(Runnable::run)
+                .build();
+
+        final Integer depth = injectMaid.getInstance(previous);
+        assertThat(depth, is(DEEP_CHAIN_LENGTH - 1));
+    }
+
+    @Test
+    public void exceptionsDuringParallelSingletonInitializationAreThrown() {
+        final Exception exception = catchException(() -> anInjectMaid()
+                .withCustomType(StringWrapper.class, () -> {
+                    throw new IllegalStateException("failing singleton");
+                }, EAGER_SINGLETON)
+                .withCustomType(ZeroArgumentsConstructorType.class, ZeroArgumentsConstructorType::new, EAGER_SINGLETON)
+                .initializingSingletonsInParallel()
+                .build());
+
+        assertThat(exception, instanceOf(InjectMaidException.class));
+        assertThat(exception.getMessage(), containsString("Exception during instantiation of 'StringWrapper'"));
+        assertThat(exception.getCause(), instanceOf(IllegalStateException.class));
+    }
+
+    private static Integer depth(final Object[] dependencies) {
+        if (dependencies.length == 0) {
+            return 0;
+        }
+        return (Integer) dependencies[0] + 1;
+    }
+
+    private static boolean await(final CountDownLatch latch) {
+        try {
+            return latch.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static <T> List<T> concurrently(final Callable<T> task) throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try {
+            final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+            final List<Future<T>> futures = new ArrayList<>(THREADS);
+            for (int i = 0; i < THREADS; ++i) {
+                futures.add(executorService.submit(() -> {
+                    barrier.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+                    return task.call();
+                }));
+            }
+            final List<T> results = new ArrayList<>(THREADS);
+            for (final Future<T> future : futures) {
+                results.add(future.get(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+}
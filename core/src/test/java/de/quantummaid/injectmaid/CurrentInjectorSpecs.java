@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid;
+
+import de.quantummaid.injectmaid.api.Injector;
+import de.quantummaid.injectmaid.domain.Request;
+import de.quantummaid.injectmaid.domain.closing.AutoclosableType;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static de.quantummaid.injectmaid.InjectMaid.anInjectMaid;
+import static de.quantummaid.injectmaid.api.CurrentInjector.*;
+import static de.quantummaid.injectmaid.domain.Request.request;
+import static de.quantummaid.injectmaid.testsupport.TestSupport.catchException;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class CurrentInjectorSpecs {
+
+    @Test
+    public void noInjectorIsBoundOutsideOfATask() {
+        assertThat(currentInjectorIfBound().isPresent(), is(false));
+
+        final Exception exception = catchException(() -> currentInjector());
+        assertThat(exception, instanceOf(InjectMaidException.class));
+        assertThat(exception.getMessage(), is("No injector is bound to the current thread"));
+    }
+
+    @Test
+    public void injectorIsBoundForTheDynamicExtentOfATask() {
+        final InjectMaid injectMaid = anInjectMaid().build();
+        final InjectMaid otherInjectMaid = anInjectMaid().build();
+
+        runWithInjector(injectMaid, () -> {
+            assertThat(currentInjector(), sameInstance(injectMaid));
+            runWithInjector(otherInjectMaid, () -> assertThat(currentInjector(), sameInstance(otherInjectMaid)));
+            assertThat(currentInjector(), sameInstance(injectMaid));
+        });
+
+        assertThat(currentInjectorIfBound().isPresent(), is(false));
+    }
+
+    @Test
+    public void bindingIsRestoredWhenTheTaskFails() {
+        final InjectMaid injectMaid = anInjectMaid().build();
+
+        final Exception exception = catchException(() -> runWithInjector(injectMaid, () -> {
+            throw new IllegalStateException("failing task");
+        }));
+
+        assertThat(exception, instanceOf(IllegalStateException.class));
+        assertThat(currentInjectorIfBound().isPresent(), is(false));
+    }
+
+    @Test
+    public void scopedInjectorIsBoundAndClosedAfterTheTask() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withScope(Request.class, builder -> builder.withType(AutoclosableType.class))
+                .withLifecycleManagement()
+                .build();
+        final AtomicReference<AutoclosableType> closeable = new AtomicReference<>();
+
+        final String username = callInScope(injectMaid, Request.class, request("foo"), () -> {
+            final Injector scopedInjector = currentInjector();
+            closeable.set(scopedInjector.getInstance(AutoclosableType.class));
+            return scopedInjector.getInstance(Request.class).username;
+        });
+
+        assertThat(username, is("foo"));
+        assertThat(closeable.get().closed, is(true));
+        assertThat(currentInjectorIfBound().isPresent(), is(false));
+    }
+}
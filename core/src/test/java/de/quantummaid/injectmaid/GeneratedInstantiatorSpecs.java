@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid;
+
+import de.quantummaid.injectmaid.domain.OneArgumentConstructorType;
+import de.quantummaid.injectmaid.domain.StaticFactoryType;
+import de.quantummaid.injectmaid.domain.StringWrapper;
+import de.quantummaid.injectmaid.domain.ZeroArgumentsConstructorType;
+import de.quantummaid.injectmaid.domain.factory.NonStaticFactory;
+import de.quantummaid.injectmaid.failing.FailingInConstructorType;
+import org.junit.jupiter.api.Test;
+
+import static de.quantummaid.injectmaid.InjectMaid.anInjectMaid;
+import static de.quantummaid.injectmaid.testsupport.TestSupport.catchException;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class GeneratedInstantiatorSpecs {
+
+    @Test
+    public void generatedInstantiatorsCanInvokeConstructors() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withType(OneArgumentConstructorType.class)
+                .usingGeneratedInstantiators()
+                .build();
+        final OneArgumentConstructorType instance = injectMaid.getInstance(OneArgumentConstructorType.class);
+        assertThat(instance, notNullValue());
+        assertThat(instance.zeroArgumentsConstructorType, instanceOf(ZeroArgumentsConstructorType.class));
+    }
+
+    @Test
+    public void generatedInstantiatorsCanInvokeStaticFactories() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withType(StaticFactoryType.class)
+                .usingGeneratedInstantiators()
+                .build();
+        final StaticFactoryType instance = injectMaid.getInstance(StaticFactoryType.class);
+        assertThat(instance, notNullValue());
+        assertThat(instance.zeroArgumentsConstructorType, instanceOf(ZeroArgumentsConstructorType.class));
+    }
+
+    @Test
+    public void generatedInstantiatorsCanInvokeNonStaticFactories() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withFactory(StringWrapper.class, NonStaticFactory.class)
+                .usingGeneratedInstantiators()
+                .build();
+        final StringWrapper instance = injectMaid.getInstance(StringWrapper.class);
+        assertThat(instance.string, is("from non-static factory"));
+    }
+
+    @Test
+    public void generatedInstantiatorsReportExceptionsLikeReflectiveInstantiators() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withType(FailingInConstructorType.class)
+                .usingGeneratedInstantiators()
+                .build();
+        final Exception exception = catchException(() -> injectMaid.getInstance(FailingInConstructorType.class));
+        assertThat(exception, instanceOf(InjectMaidException.class));
+        assertThat(exception.getMessage(), is("Exception during instantiation of 'FailingInConstructorType' using constructor " +
+                "'public de.quantummaid.injectmaid.failing.FailingInConstructorType()'"));
+        assertThat(exception.getCause(), instanceOf(IllegalArgumentException.class));
+    }
+}
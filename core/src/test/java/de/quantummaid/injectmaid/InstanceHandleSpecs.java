@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid;
+
+import de.quantummaid.injectmaid.api.Injector;
+import de.quantummaid.injectmaid.domain.StringWrapper;
+import de.quantummaid.injectmaid.domain.ZeroArgumentsConstructorType;
+import org.junit.jupiter.api.Test;
+
+import static de.quantummaid.injectmaid.InjectMaid.anInjectMaid;
+import static de.quantummaid.injectmaid.api.ReusePolicy.DEFAULT_SINGLETON;
+import static de.quantummaid.injectmaid.testsupport.TestSupport.catchException;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class InstanceHandleSpecs {
+
+    @Test
+    public void instancesCanBeObtainedThroughHandles() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withType(ZeroArgumentsConstructorType.class, DEFAULT_SINGLETON)
+                .withCustomType(StringWrapper.class, () -> new StringWrapper("foo"))
+                .build();
+        final InstanceHandle<ZeroArgumentsConstructorType> singletonHandle = injectMaid.handle(ZeroArgumentsConstructorType.class);
+        final InstanceHandle<StringWrapper> prototypeHandle = injectMaid.handle(StringWrapper.class);
+
+        assertThat(singletonHandle.get(injectMaid), sameInstance(injectMaid.getInstance(ZeroArgumentsConstructorType.class)));
+        assertThat(prototypeHandle.get(injectMaid).string, is("foo"));
+        assertThat(prototypeHandle.get(injectMaid), not(sameInstance(prototypeHandle.get(injectMaid))));
+    }
+
+    @Test
+    public void handlesCanBeUsedInScopes() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withType(ZeroArgumentsConstructorType.class, DEFAULT_SINGLETON)
+                .withScope(String.class, builder -> builder.withCustomType(StringWrapper.class, String.class, StringWrapper::new))
+                .build();
+        final InstanceHandle<StringWrapper> scopedHandle = injectMaid.handle(StringWrapper.class);
+        final InstanceHandle<ZeroArgumentsConstructorType> rootHandle = injectMaid.handle(ZeroArgumentsConstructorType.class);
+        final Injector scope = injectMaid.enterScope(String.class, "bar");
+
+        assertThat(scopedHandle.get(scope).string, is("bar"));
+        assertThat(rootHandle.get(scope), sameInstance(injectMaid.getInstance(ZeroArgumentsConstructorType.class)));
+        final Exception exception = catchException(() -> scopedHandle.get(injectMaid));
+        assertThat(exception, instanceOf(InjectMaidException.class));
+        assertThat(exception.getMessage(), containsString("StringWrapper"));
+    }
+
+    @Test
+    public void handlesCanBeUsedWithOtherInjectors() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withCustomType(StringWrapper.class, () -> new StringWrapper("first"))
+                .build();
+        final InjectMaid otherInjectMaid = anInjectMaid()
+                .withType(ZeroArgumentsConstructorType.class)
+                .withCustomType(StringWrapper.class, () -> new StringWrapper("second"))
+                .build();
+        final InstanceHandle<StringWrapper> handle = injectMaid.handle(StringWrapper.class);
+
+        assertThat(handle.get(otherInjectMaid).string, is("second"));
+    }
+
+    @Test
+    public void handlesCannotBeCreatedForUnregisteredTypes() {
+        final InjectMaid injectMaid = anInjectMaid().build();
+        final Exception exception = catchException(() -> injectMaid.handle(StringWrapper.class));
+        assertThat(exception, instanceOf(InjectMaidException.class));
+        assertThat(exception.getMessage(), is("Cannot create handle for unregistered type 'de.quantummaid.injectmaid.domain.StringWrapper'"));
+    }
+}
@@ -21,11 +21,22 @@
 
 package de.quantummaid.injectmaid;
 
+import de.quantummaid.injectmaid.api.interception.Interceptor;
+import de.quantummaid.injectmaid.api.interception.InterceptorFactory;
+import de.quantummaid.injectmaid.api.interception.SimpleInterceptor;
 import de.quantummaid.injectmaid.domain.NumberedType;
 import de.quantummaid.injectmaid.domain.StringWrapper;
 import de.quantummaid.reflectmaid.ReflectMaid;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static de.quantummaid.injectmaid.api.customtype.api.CustomType.customType;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
@@ -103,4 +114,92 @@ public final class InterceptorSpecs {
         assertThat(instance2.instanceNumber(), is(0));
         assertThat(NumberedType.counter, is(2));
     }
+
+    @Test
+    public void sharedInterceptorsAreOnlyCreatedOnceUntilTheChainChanges() {
+        final AtomicInteger createdInterceptors = new AtomicInteger();
+        final InjectMaid injectMaid = InjectMaid.anInjectMaid()
+                .withCustomType(StringWrapper.class, () -> new StringWrapper("original value"))
+                .withInterceptorFactory(new InterceptorFactory() {
+                    @Override
+                    public Interceptor createInterceptor() {
+                        createdInterceptors.incrementAndGet();
+                        return (SimpleInterceptor) object -> object;
+                    }
+
+                    @Override
+                    public boolean createsSharedInterceptor() {
+                        return true;
+                    }
+                })
+                .build();
+
+        injectMaid.getInstance(StringWrapper.class);
+        injectMaid.getInstance(StringWrapper.class);
+        assertThat(createdInterceptors.get(), is(1));
+
+        injectMaid.addInterceptor(object -> object);
+        injectMaid.getInstance(StringWrapper.class);
+        injectMaid.getInstance(StringWrapper.class);
+        assertThat(createdInterceptors.get(), is(2));
+    }
+
+    @Test
+    public void sharedInterceptorsAreNotRecreatedPerResolutionWhenPerCallInterceptorsExist() {
+        final AtomicInteger createdSharedInterceptors = new AtomicInteger();
+        final AtomicInteger createdPerCallInterceptors = new AtomicInteger();
+        final InjectMaid injectMaid = InjectMaid.anInjectMaid()
+                .withCustomType(StringWrapper.class, () -> new StringWrapper("original value"))
+                .withInterceptorFactory(new InterceptorFactory() {
+                    @Override
+                    public Interceptor createInterceptor() {
+                        createdSharedInterceptors.incrementAndGet();
+                        return (SimpleInterceptor) object -> object;
+                    }
+
+                    @Override
+                    public boolean createsSharedInterceptor() {
+                        return true;
+                    }
+                })
+                .withInterceptorFactory(() -> {
+                    createdPerCallInterceptors.incrementAndGet();
+                    return (SimpleInterceptor) object -> object;
+                })
+                .build();
+
+        injectMaid.getInstance(StringWrapper.class);
+        injectMaid.getInstance(StringWrapper.class);
+        injectMaid.getInstance(StringWrapper.class);
+        assertThat(createdSharedInterceptors.get(), is(1));
+        assertThat(createdPerCallInterceptors.get(), is(3));
+    }
+
+    @Test
+    public void interceptorsCanBeAddedWhileScopesAreEntered() throws Exception {
+        final InjectMaid injectMaid = InjectMaid.anInjectMaid()
+                .withScope(String.class, builder -> builder.withCustomType(StringWrapper.class, String.class, StringWrapper::new))
+                .build();
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            futures.add(executorService.submit(() -> {
+                for (int i = 0; i < 1_000; ++i) {
+                    injectMaid.addInterceptor(object -> object);
+                }
+            }));
+            for (int thread = 0; thread < 3; ++thread) {
+                futures.add(executorService.submit(() -> {
+                    for (int i = 0; i < 1_000; ++i) {
+                        assertThat(injectMaid.enterScope("scope" + i).getInstance(StringWrapper.class).string, is("scope" + i));
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
 }
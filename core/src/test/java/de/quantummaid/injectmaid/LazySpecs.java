@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid;
+
+import de.quantummaid.injectmaid.api.Injector;
+import de.quantummaid.injectmaid.domain.StringWrapper;
+import de.quantummaid.injectmaid.domain.lazy.LazyCycleA;
+import de.quantummaid.injectmaid.domain.lazy.LazyCycleB;
+import de.quantummaid.injectmaid.domain.lazy.WithLazyDependency;
+import de.quantummaid.injectmaid.domain.lazy.WithProviderDependency;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.quantummaid.injectmaid.InjectMaid.anInjectMaid;
+import static de.quantummaid.injectmaid.api.ReusePolicy.DEFAULT_SINGLETON;
+import static de.quantummaid.injectmaid.api.ReusePolicy.PROTOTYPE;
+import static de.quantummaid.injectmaid.testsupport.TestSupport.catchException;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class LazySpecs {
+
+    @Test
+    public void lazyDependencyIsOnlyInstantiatedOnFirstGet() {
+        final AtomicInteger instantiations = new AtomicInteger();
+        final InjectMaid injectMaid = anInjectMaid()
+                .withType(WithLazyDependency.class)
+                .withCustomType(StringWrapper.class, () -> new StringWrapper("lazy" + instantiations.incrementAndGet()), PROTOTYPE)
+                .build();
+
+        final WithLazyDependency instance = injectMaid.getInstance(WithLazyDependency.class);
+        assertThat(instantiations.get(), is(0));
+
+        final StringWrapper first = instance.stringWrapper.get();
+        assertThat(first.string, is("lazy1"));
+        assertThat(instance.stringWrapper.get(), sameInstance(first));
+        assertThat(instantiations.get(), is(1));
+    }
+
+    @Test
+    public void providerInstantiatesOnEveryGet() {
+        final AtomicInteger instantiations = new AtomicInteger();
+        final InjectMaid injectMaid = anInjectMaid()
+                .withType(WithProviderDependency.class)
+                .withCustomType(StringWrapper.class, () -> new StringWrapper("provided" + instantiations.incrementAndGet()), PROTOTYPE)
+                .build();
+
+        final WithProviderDependency instance = injectMaid.getInstance(WithProviderDependency.class);
+        assertThat(instantiations.get(), is(0));
+
+        assertThat(instance.stringWrapper.get().string, is("provided1"));
+        assertThat(instance.stringWrapper.get().string, is("provided2"));
+        assertThat(instance.stringWrapper.toString(), is("Provider<StringWrapper>"));
+    }
+
+    @Test
+    public void providerOfSingletonReturnsTheSingleton() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withType(WithProviderDependency.class)
+                .withCustomType(StringWrapper.class, () -> new StringWrapper("singleton"), DEFAULT_SINGLETON)
+                .build();
+
+        final WithProviderDependency instance = injectMaid.getInstance(WithProviderDependency.class);
+
+        assertThat(instance.stringWrapper.get(), sameInstance(injectMaid.getInstance(StringWrapper.class)));
+    }
+
+    @Test
+    public void lazyDependencyIsResolvedInTheScopeItWasInjectedIn() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withScope(String.class, builder -> builder
+                        .withType(WithLazyDependency.class)
+                        .withCustomType(StringWrapper.class, String.class, StringWrapper::new, DEFAULT_SINGLETON))
+                .build();
+        final Injector scope1 = injectMaid.enterScope(String.class, "scope1");
+        final Injector scope2 = injectMaid.enterScope(String.class, "scope2");
+
+        final WithLazyDependency instance1 = scope1.getInstance(WithLazyDependency.class);
+        final WithLazyDependency instance2 = scope2.getInstance(WithLazyDependency.class);
+
+        assertThat(instance2.stringWrapper.get().string, is("scope2"));
+        assertThat(instance1.stringWrapper.get(), sameInstance(scope1.getInstance(StringWrapper.class)));
+    }
+
+    @Test
+    public void lazyDependencyOfRootSingletonIsBoundToTheRootScope() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withType(WithLazyDependency.class, DEFAULT_SINGLETON)
+                .withCustomType(StringWrapper.class, () -> new StringWrapper("root"), DEFAULT_SINGLETON)
+                .withScope(String.class, builder -> builder
+                        .withCustomType(StringWrapper.class, String.class, StringWrapper::new, DEFAULT_SINGLETON))
+                .build();
+        final Injector scope = injectMaid.enterScope(String.class, "scope");
+        final WithLazyDependency instance = scope.getInstance(WithLazyDependency.class);
+        scope.close();
+
+        assertThat(instance.stringWrapper.get().string, is("root"));
+        assertThat(instance, sameInstance(injectMaid.getInstance(WithLazyDependency.class)));
+    }
+
+    @Test
+    public void lazyDependencyCannotBeResolvedAfterItsScopeHasBeenClosed() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withScope(String.class, builder -> builder
+                        .withType(WithLazyDependency.class)
+                        .withCustomType(StringWrapper.class, String.class, StringWrapper::new, DEFAULT_SINGLETON))
+                .build();
+        final Injector scope = injectMaid.enterScope(String.class, "scope");
+        final WithLazyDependency instance = scope.getInstance(WithLazyDependency.class);
+        scope.close();
+
+        final Exception exception = catchException(instance.stringWrapper::get);
+        assertThat(exception, instanceOf(InjectMaidException.class));
+        assertThat(exception.getMessage(), containsString("because the scope it has been injected from is already closed"));
+    }
+
+    @Test
+    public void providerCannotBeUsedAfterItsScopeHasBeenClosed() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withScope(String.class, builder -> builder
+                        .withType(WithProviderDependency.class)
+                        .withCustomType(StringWrapper.class, String.class, StringWrapper::new, PROTOTYPE))
+                .build();
+        final Injector scope = injectMaid.enterScope(String.class, "scope");
+        final WithProviderDependency instance = scope.getInstance(WithProviderDependency.class);
+        assertThat(instance.stringWrapper.get().string, is("scope"));
+        scope.close();
+
+        final Exception exception = catchException(instance.stringWrapper::get);
+        assertThat(exception, instanceOf(InjectMaidException.class));
+    }
+
+    @Test
+    public void lazyDependencyBreaksCircularDependency() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withType(LazyCycleA.class, DEFAULT_SINGLETON)
+                .build();
+
+        final LazyCycleA lazyCycleA = injectMaid.getInstance(LazyCycleA.class);
+        final LazyCycleB lazyCycleB = lazyCycleA.lazyCycleB.get();
+
+        assertThat(lazyCycleB.lazyCycleA, sameInstance(lazyCycleA));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid;
+
+import de.quantummaid.injectmaid.domain.MyImplementation;
+import de.quantummaid.injectmaid.domain.MyInterface;
+import de.quantummaid.injectmaid.domain.StringWrapper;
+import de.quantummaid.injectmaid.domain.dependency.Layer3;
+import de.quantummaid.injectmaid.failing.TooManyConstructorsType;
+import de.quantummaid.injectmaid.failing.TooManyFactoriesType;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static de.quantummaid.injectmaid.InjectMaid.anInjectMaid;
+import static de.quantummaid.injectmaid.testsupport.TestSupport.catchException;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class ParallelBuildSpecs {
+
+    @Test
+    public void parallelBuildDetectsTheSameDefinitionsAsSequentialBuild() {
+        final InjectMaid sequential = configuredBuilder().build();
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            final InjectMaid parallel = configuredBuilder()
+                    .buildingInParallel(executorService)
+                    .build();
+
+            assertThat(parallel.debugInformation(), is(sequential.debugInformation()));
+            assertThat(parallel.getInstance(Layer3.class), notNullValue());
+            assertThat(parallel.getInstance(MyInterface.class).perform(), is("the implementation"));
+            assertThat(parallel.enterScope(String.class, "foo").getInstance(StringWrapper.class).string, is("foo"));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void parallelBuildAggregatesTheSameErrorsAsSequentialBuild() {
+        final Exception sequentialException = catchException(() -> anInjectMaid()
+                .withType(TooManyConstructorsType.class)
+                .withType(TooManyFactoriesType.class)
+                .build());
+        final Exception parallelException = catchException(() -> anInjectMaid()
+                .withType(TooManyConstructorsType.class)
+                .withType(TooManyFactoriesType.class)
+                .buildingInParallel()
+                .build());
+
+        assertThat(parallelException, instanceOf(InjectMaidException.class));
+        assertThat(parallelException.getMessage(), is(sequentialException.getMessage()));
+    }
+
+    @Test
+    public void parallelBuildCanRunOnTheCallingThread() {
+        final InjectMaid injectMaid = configuredBuilder()
+                .buildingInParallel(Runnable::run)
+                .build();
+
+        assertThat(injectMaid.getInstance(Layer3.class), notNullValue());
+    }
+
+    private static InjectMaidBuilder configuredBuilder() {
+        return anInjectMaid()
+                .withType(Layer3.class)
+                .withImplementation(MyInterface.class, MyImplementation.class)
+                .withScope(String.class, builder -> builder.withCustomType(StringWrapper.class, String.class, StringWrapper::new));
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid;
+
+import de.quantummaid.injectmaid.domain.Request;
+import de.quantummaid.injectmaid.domain.closing.AutoclosableType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static de.quantummaid.injectmaid.InjectMaid.anInjectMaid;
+import static de.quantummaid.injectmaid.ScopeEnteringExecutor.scopeEnteringExecutor;
+import static de.quantummaid.injectmaid.api.CurrentInjector.currentInjector;
+import static de.quantummaid.injectmaid.api.ReusePolicy.DEFAULT_SINGLETON;
+import static de.quantummaid.injectmaid.domain.Request.request;
+import static de.quantummaid.injectmaid.testsupport.TestSupport.catchException;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class ScopeEnteringExecutorSpecs {
+    private static final long TIMEOUT_IN_SECONDS = 10;
+
+    @Test
+    public void everyTaskRunsInItsOwnScopeThatIsClosedAfterwards() throws Exception {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withScope(Request.class, builder -> builder.withType(AutoclosableType.class, DEFAULT_SINGLETON))
+                .withLifecycleManagement()
+                .build();
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            final ScopeEnteringExecutor<Request, AutoclosableType> executor = scopeEnteringExecutor(
+                    injectMaid, Request.class, injector -> {
+                        assertThat(currentInjector(), sameInstance(injector));
+                        return injector.getInstance(AutoclosableType.class);
+                    }, executorService);
+
+            final AutoclosableType first = executor.submit(request("foo")).get(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+            final AutoclosableType second = executor.submit(request("bar")).get(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+
+            assertThat(first, not(sameInstance(second)));
+            assertThat(first.closed, is(true));
+            assertThat(second.closed, is(true));
+            assertThat(executor.liveScopes(), is(0));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void queueDepthAndLiveScopesAreReported() throws Exception {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withScope(Request.class, builder -> {
+                })
+                .build();
+        final CountDownLatch taskStarted = new CountDownLatch(1);
+        final CountDownLatch releaseTasks = new CountDownLatch(1);
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final ScopeEnteringExecutor<Request, String> executor = scopeEnteringExecutor(
+                    injectMaid, Request.class, injector -> {
+                        taskStarted.countDown();
+                        await(releaseTasks);
+                        return injector.getInstance(Request.class).username;
+                    }, executorService);
+
+            final List<CompletableFuture<String>> results = List.of(
+                    executor.submit(request("a")), executor.submit(request("b")), executor.submit(request("c")));
+            assertThat(taskStarted.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS), is(true));
+            assertThat(executor.liveScopes(), is(1));
+            assertThat(executor.queueDepth(), is(2));
+
+            releaseTasks.countDown();
+            assertThat(results.get(2).get(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS), is("c"));
+            assertThat(executor.liveScopes(), is(0));
+            assertThat(executor.queueDepth(), is(0));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void executorCannotBeCreatedForUnknownScope() {
+        final InjectMaid injectMaid = anInjectMaid().build();
+
+        final Exception exception = catchException(() ->
+                scopeEnteringExecutor(injectMaid, Request.class, injector -> null, Runnable::run));
+
+        assertThat(exception, instanceOf(InjectMaidException.class));
+        assertThat(exception.getMessage(), is("Unknown scope '/Request'. Registered scopes: [/]"));
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
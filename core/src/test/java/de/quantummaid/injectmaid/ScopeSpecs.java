@@ -22,6 +22,7 @@
 package de.quantummaid.injectmaid;
 
 import de.quantummaid.injectmaid.api.Injector;
+import de.quantummaid.injectmaid.api.SingletonType;
 import de.quantummaid.injectmaid.api.customtype.api.CustomType;
 import de.quantummaid.injectmaid.domain.*;
 import de.quantummaid.injectmaid.domain.dependency.*;
@@ -297,4 +298,78 @@ public final class ScopeSpecs {
 
         assertThat(NumberedType.counter, is(1));
     }
+
+    @Test
+    public void eagerSingletonsInNestedScopesAreInitializedOnEveryScopeEntry() {
+        NumberedType.counter = 0;
+        final InjectMaid injectMaid = anInjectMaid()
+                .withScope(Object.class, x ->
+                        x.withScope(Integer.class, builder -> builder.withType(NumberedType.class, EAGER_SINGLETON)))
+                .build();
+        final Injector outerScope = injectMaid.enterScope(Object.class, null);
+        assertThat(NumberedType.counter, is(0));
+
+        final Injector innerScope0 = outerScope.enterScope(Integer.class, 0);
+        final Injector innerScope1 = outerScope.enterScope(Integer.class, 1);
+        assertThat(NumberedType.counter, is(2));
+        assertThat(innerScope0.getInstance(NumberedType.class).instanceNumber(), is(0));
+        assertThat(innerScope1.getInstance(NumberedType.class).instanceNumber(), is(1));
+        assertThat(innerScope1.getInstance(Integer.class), is(1));
+    }
+
+    @Test
+    public void defaultSingletonsOnScopesAreInitializedOnScopeEntryWhenEagerByDefault() {
+        NumberedType.counter = 0;
+        final InjectMaid injectMaid = anInjectMaid()
+                .withScope(String.class, builder -> builder.withType(NumberedType.class, DEFAULT_SINGLETON))
+                .usingDefaultSingletonType(SingletonType.EAGER)
+                .build();
+        assertThat(NumberedType.counter, is(0));
+        final Injector scope = injectMaid.enterScope("");
+        assertThat(NumberedType.counter, is(1));
+        assertThat(scope.getInstance(NumberedType.class).instanceNumber(), is(0));
+        assertThat(NumberedType.counter, is(1));
+    }
+
+    @Test
+    public void singletonsOfAllEnclosingScopesAreSharedWithNestedScopes() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withType(ZeroArgumentsConstructorType.class, DEFAULT_SINGLETON)
+                .withScope(Object.class, outer -> outer
+                        .withType(OneArgumentConstructorType.class, DEFAULT_SINGLETON)
+                        .withScope(Integer.class, inner -> inner.withType(StaticFactoryType.class, DEFAULT_SINGLETON)))
+                .build();
+        final Injector outerScope = injectMaid.enterScope(Object.class, null);
+        final Injector innerScope0 = outerScope.enterScope(Integer.class, 0);
+        final Injector innerScope1 = outerScope.enterScope(Integer.class, 1);
+
+        final ZeroArgumentsConstructorType rootSingleton = injectMaid.getInstance(ZeroArgumentsConstructorType.class);
+        final OneArgumentConstructorType outerSingleton = innerScope0.getInstance(OneArgumentConstructorType.class);
+        assertThat(outerSingleton.zeroArgumentsConstructorType, sameInstance(rootSingleton));
+        assertThat(innerScope1.getInstance(OneArgumentConstructorType.class), sameInstance(outerSingleton));
+        assertThat(outerScope.getInstance(OneArgumentConstructorType.class), sameInstance(outerSingleton));
+        assertThat(innerScope0.getInstance(StaticFactoryType.class), sameInstance(innerScope0.getInstance(StaticFactoryType.class)));
+        assertThat(innerScope0.getInstance(StaticFactoryType.class), not(sameInstance(innerScope1.getInstance(StaticFactoryType.class))));
+        assertThat(innerScope1.getInstance(StaticFactoryType.class).zeroArgumentsConstructorType, sameInstance(rootSingleton));
+    }
+
+    @Test
+    public void scopeObjectsOfAllEnclosingScopesCanBeInjectedInNestedScopes() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withScope(Request.class, outer -> outer
+                        .withScope(String.class, middle -> middle
+                                .withScope(Integer.class, inner -> {
+                                })))
+                .build();
+        final Injector outerScope = injectMaid.enterScope(Request.class, request("outer"));
+        final Injector middleScope = outerScope.enterScope(String.class, "middle");
+        final Injector innerScope0 = middleScope.enterScope(Integer.class, 0);
+        final Injector innerScope1 = middleScope.enterScope(Integer.class, 1);
+
+        assertThat(innerScope0.getInstance(Request.class).username, is("outer"));
+        assertThat(innerScope0.getInstance(String.class), is("middle"));
+        assertThat(innerScope0.getInstance(Integer.class), is(0));
+        assertThat(innerScope1.getInstance(Integer.class), is(1));
+        assertThat(middleScope.getInstance(String.class), is("middle"));
+    }
 }
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid;
+
+import de.quantummaid.injectmaid.domain.OneArgumentConstructorType;
+import de.quantummaid.injectmaid.domain.StaticFactoryType;
+import de.quantummaid.injectmaid.domain.StringWrapper;
+import de.quantummaid.injectmaid.domain.ZeroArgumentsConstructorType;
+import de.quantummaid.injectmaid.snapshot.BuildSnapshot;
+import org.junit.jupiter.api.Test;
+
+import static de.quantummaid.injectmaid.InjectMaid.anInjectMaid;
+import static de.quantummaid.injectmaid.api.ReusePolicy.DEFAULT_SINGLETON;
+import static de.quantummaid.injectmaid.snapshot.BuildSnapshot.parseSnapshot;
+import static de.quantummaid.injectmaid.testsupport.TestSupport.catchException;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class SnapshotSpecs {
+
+    @Test
+    public void injectMaidCanBeBuiltFromASnapshot() {
+        final BuildSnapshot snapshot = configuredBuilder().buildSnapshot();
+
+        final InjectMaid scanned = configuredBuilder().build();
+        final InjectMaid restored = configuredBuilder()
+                .usingSnapshot(snapshot)
+                .build();
+
+        assertThat(restored.debugInformation(), is(scanned.debugInformation()));
+        assertThat(restored.getInstance(StaticFactoryType.class).checkString(), is("one argument static factory type"));
+        assertThat(restored.getInstance(OneArgumentConstructorType.class).zeroArgumentsConstructorType, notNullValue());
+        assertThat(restored.enterScope(String.class, "foo").getInstance(StringWrapper.class).string, is("foo"));
+    }
+
+    @Test
+    public void snapshotCanBeRenderedAndParsed() {
+        final BuildSnapshot snapshot = configuredBuilder().buildSnapshot();
+        final String rendered = snapshot.render();
+
+        assertThat(rendered, startsWith("# injectmaid build snapshot v1\n"));
+        assertThat(rendered, containsString("staticFactoryType"));
+        assertThat(parseSnapshot(rendered), is(snapshot));
+        assertThat(parseSnapshot(rendered).render(), is(rendered));
+    }
+
+    @Test
+    public void outdatedSnapshotIsRejected() {
+        final String rendered = configuredBuilder().buildSnapshot().render();
+        final BuildSnapshot outdatedSnapshot = parseSnapshot(rendered.replace("staticFactoryType", "renamedFactory"));
+
+        final Exception exception = catchException(() -> configuredBuilder()
+                .usingSnapshot(outdatedSnapshot)
+                .build());
+
+        assertThat(exception, instanceOf(InjectMaidException.class));
+        assertThat(exception.getMessage(), containsString("Snapshot is out of date"));
+        assertThat(exception.getMessage(), containsString("renamedFactory"));
+    }
+
+    @Test
+    public void snapshotWithoutNewlyConfiguredTypeIsRejected() {
+        final BuildSnapshot snapshot = anInjectMaid()
+                .withType(ZeroArgumentsConstructorType.class)
+                .buildSnapshot();
+
+        final Exception exception = catchException(() -> anInjectMaid()
+                .withType(ZeroArgumentsConstructorType.class)
+                .withCustomType(StringWrapper.class, () -> new StringWrapper("new"))
+                .usingSnapshot(snapshot)
+                .build());
+
+        assertThat(exception, instanceOf(InjectMaidException.class));
+        assertThat(exception.getMessage(), containsString("Snapshot is out of date"));
+        assertThat(exception.getMessage(), containsString("StringWrapper"));
+    }
+
+    @Test
+    public void snapshotWithoutNewlyRegisteredTypeIsRejected() {
+        final BuildSnapshot snapshot = anInjectMaid()
+                .withType(ZeroArgumentsConstructorType.class)
+                .buildSnapshot();
+
+        final Exception exception = catchException(() -> anInjectMaid()
+                .withType(ZeroArgumentsConstructorType.class)
+                .withType(StaticFactoryType.class)
+                .usingSnapshot(snapshot)
+                .build());
+
+        assertThat(exception, instanceOf(InjectMaidException.class));
+        assertThat(exception.getMessage(), containsString("Snapshot is out of date"));
+        assertThat(exception.getMessage(), containsString("StaticFactoryType"));
+    }
+
+    @Test
+    public void snapshotWithChangedReusePolicyIsRejected() {
+        final BuildSnapshot snapshot = anInjectMaid()
+                .withType(ZeroArgumentsConstructorType.class)
+                .buildSnapshot();
+
+        final Exception exception = catchException(() -> anInjectMaid()
+                .withType(ZeroArgumentsConstructorType.class, DEFAULT_SINGLETON)
+                .usingSnapshot(snapshot)
+                .build());
+
+        assertThat(exception, instanceOf(InjectMaidException.class));
+        assertThat(exception.getMessage(), containsString("Snapshot is out of date: reuse policy of type"));
+        assertThat(exception.getMessage(), containsString("changed from PROTOTYPE to DEFAULT_SINGLETON"));
+    }
+
+    @Test
+    public void snapshotWithChangedReusePolicyOfConfiguredTypeIsRejected() {
+        final BuildSnapshot snapshot = anInjectMaid()
+                .withCustomType(StringWrapper.class, () -> new StringWrapper("foo"))
+                .buildSnapshot();
+
+        final Exception exception = catchException(() -> anInjectMaid()
+                .withCustomType(StringWrapper.class, () -> new StringWrapper("foo"), DEFAULT_SINGLETON)
+                .usingSnapshot(snapshot)
+                .build());
+
+        assertThat(exception, instanceOf(InjectMaidException.class));
+        assertThat(exception.getMessage(), containsString("changed from PROTOTYPE to DEFAULT_SINGLETON"));
+    }
+
+    private static InjectMaidBuilder configuredBuilder() {
+        return anInjectMaid()
+                .withType(StaticFactoryType.class)
+                .withType(OneArgumentConstructorType.class, DEFAULT_SINGLETON)
+                .withScope(String.class, builder -> builder.withCustomType(StringWrapper.class, String.class, StringWrapper::new));
+    }
+}
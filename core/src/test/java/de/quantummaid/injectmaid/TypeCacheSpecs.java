@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid;
+
+import de.quantummaid.injectmaid.api.Injector;
+import de.quantummaid.injectmaid.domain.StringWrapper;
+import de.quantummaid.injectmaid.domain.ZeroArgumentsConstructorType;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+
+import static de.quantummaid.injectmaid.InjectMaid.anInjectMaid;
+import static de.quantummaid.injectmaid.api.ReusePolicy.DEFAULT_SINGLETON;
+import static de.quantummaid.reflectmaid.GenericType.genericType;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class TypeCacheSpecs {
+
+    @Test
+    public void repeatedLookupsByClassAndGenericTypeResolveTheSameDefinitions() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withType(ZeroArgumentsConstructorType.class, DEFAULT_SINGLETON)
+                .withScope(String.class, builder -> builder.withCustomType(StringWrapper.class, String.class, StringWrapper::new))
+                .build();
+
+        final ZeroArgumentsConstructorType instance = injectMaid.getInstance(ZeroArgumentsConstructorType.class);
+        assertThat(injectMaid.getInstance(ZeroArgumentsConstructorType.class), sameInstance(instance));
+        assertThat(injectMaid.getInstance(genericType(ZeroArgumentsConstructorType.class)), sameInstance(instance));
+        assertThat(injectMaid.canInstantiate(ZeroArgumentsConstructorType.class), is(true));
+        assertThat(injectMaid.canInstantiate(StringWrapper.class), is(false));
+
+        final Injector scope0 = injectMaid.enterScope("foo");
+        final Injector scope1 = injectMaid.enterScope("bar");
+        assertThat(scope0.canInstantiate(StringWrapper.class), is(true));
+        assertThat(scope0.getInstance(StringWrapper.class).string, is("foo"));
+        assertThat(scope1.getInstance(StringWrapper.class).string, is("bar"));
+        assertThat(scope1.getInstance(ZeroArgumentsConstructorType.class), sameInstance(instance));
+    }
+
+    @Test
+    public void cachedLookupsDoNotKeepTheInjectorReachable() throws InterruptedException {
+        final WeakReference<InjectMaid> injectMaid = abandonedInjectMaidAfterLookups();
+
+        for (int i = 0; i < 100 && injectMaid.get() != null; ++i) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertThat(injectMaid.get(), nullValue());
+    }
+
+    private static WeakReference<InjectMaid> abandonedInjectMaidAfterLookups() {
+        final InjectMaid injectMaid = anInjectMaid()
+                .withType(ZeroArgumentsConstructorType.class)
+                .build();
+        assertThat(injectMaid.getInstance(ZeroArgumentsConstructorType.class), notNullValue());
+        assertThat(injectMaid.canInstantiate(String.class), is(false));
+        return new WeakReference<>(injectMaid);
+    }
+}
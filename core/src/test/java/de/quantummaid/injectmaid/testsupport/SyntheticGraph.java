@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.testsupport;
+
+import de.quantummaid.injectmaid.Definition;
+import de.quantummaid.injectmaid.InjectMaid;
+import de.quantummaid.injectmaid.InjectMaidBuilder;
+import de.quantummaid.injectmaid.ScopeManager;
+import de.quantummaid.injectmaid.api.ReusePolicy;
+import de.quantummaid.injectmaid.instantiator.Instantiator;
+import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
+import de.quantummaid.reflectmaid.typescanner.scopes.Scope;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static de.quantummaid.injectmaid.Definition.definition;
+import static de.quantummaid.injectmaid.api.ReusePolicy.PROTOTYPE;
+import static de.quantummaid.reflectmaid.typescanner.TypeIdentifier.uniqueVirtualTypeIdentifier;
+
+/**
+ * Dependency graphs of virtual types for specs and benchmarks. Every type is instantiated as a {@link Node}
+ * holding its dependencies.
+ */
+public final class SyntheticGraph {
+
+    private SyntheticGraph() {
+    }
+
+    public static TypeIdentifier registerBinaryTree(final InjectMaidBuilder builder,
+                                                    final int nodes,
+                                                    final ReusePolicy reusePolicy) {
+        final List<TypeIdentifier> types = new ArrayList<>(nodes);
+        for (int i = 0; i < nodes; ++i) {
+            types.add(uniqueVirtualTypeIdentifier());
+        }
+        for (int i = 0; i < nodes; ++i) {
+            final List<TypeIdentifier> dependencies = new ArrayList<>(2);
+            final int left = 2 * i + 1;
+            final int right = 2 * i + 2;
+            if (left < nodes) {
+                dependencies.add(types.get(left));
+            }
+            if (right < nodes) {
+                dependencies.add(types.get(right));
+            }
+            builder.withInstantiator(types.get(i), nodeInstantiator(dependencies), reusePolicy);
+        }
+        return types.get(0);
+    }
+
+    /**
+     * Registers two prototypes per layer that both depend on the two prototypes of the next layer. If
+     * {@code closeCircle} is set, the last layer depends on the first one.
+     */
+    public static void registerLadder(final InjectMaidBuilder builder,
+                                      final int layers,
+                                      final boolean closeCircle) {
+        ladder(layers, closeCircle, (type, instantiator) -> builder.withInstantiator(type, instantiator, PROTOTYPE));
+    }
+
+    public static List<Definition> ladder(final int layers, final Scope scope) {
+        final List<Definition> definitions = new ArrayList<>(2 * layers);
+        ladder(layers, false, (type, instantiator) -> definitions.add(definition(type, scope, instantiator, PROTOTYPE)));
+        return definitions;
+    }
+
+    private static void ladder(final int layers,
+                               final boolean closeCircle,
+                               final BiConsumer<TypeIdentifier, Instantiator> registration) {
+        final List<TypeIdentifier> left = new ArrayList<>(layers);
+        final List<TypeIdentifier> right = new ArrayList<>(layers);
+        for (int i = 0; i < layers; ++i) {
+            left.add(uniqueVirtualTypeIdentifier());
+            right.add(uniqueVirtualTypeIdentifier());
+        }
+        for (int i = 0; i < layers; ++i) {
+            final List<TypeIdentifier> dependencies;
+            if (i + 1 < layers) {
+                dependencies = List.of(left.get(i + 1), right.get(i + 1));
+            } else if (closeCircle) {
+                dependencies = List.of(left.get(0));
+            } else {
+                dependencies = List.of();
+            }
+            registration.accept(left.get(i), nodeInstantiator(dependencies));
+            registration.accept(right.get(i), nodeInstantiator(dependencies));
+        }
+    }
+
+    public static Instantiator nodeInstantiator(final List<TypeIdentifier> dependencies) {
+        return new NodeInstantiator(dependencies);
+    }
+
+    public static final class Node {
+        private final Object[] children;
+
+        public Node(final Object[] children) {
+            this.children = children;
+        }
+    }
+
+    private static final class NodeInstantiator implements Instantiator {
+        private final List<TypeIdentifier> dependencies;
+
+        NodeInstantiator(final List<TypeIdentifier> dependencies) {
+            this.dependencies = dependencies;
+        }
+
+        @Override
+        public List<TypeIdentifier> dependencies() {
+            return dependencies;
+        }
+
+        @Override
+        public Object instantiate(final List<Object> dependencies,
+                                  final ScopeManager scopeManager,
+                                  final InjectMaid injectMaid) {
+            return new Node(dependencies.toArray());
+        }
+
+        @Override
+        public Object instantiate(final Object[] dependencies,
+                                  final ScopeManager scopeManager,
+                                  final InjectMaid injectMaid) {
+            return new Node(dependencies);
+        }
+
+        @Override
+        public String description() {
+            return "synthetic node";
+        }
+    }
+}
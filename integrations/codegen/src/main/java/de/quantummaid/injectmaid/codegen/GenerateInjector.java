@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a reflection-free {@link GeneratedInjector} for the root scope of the annotated
+ * {@link de.quantummaid.injectmaid.api.InjectorConfiguration}.
+ *
+ * <p>Types are detected like the runtime detector does: a single public constructor or static factory, the single
+ * one annotated with {@code @Inject} (or {@code @Autowired}), the single public constructor, or the single public
+ * static factory if there is no public constructor. Types annotated with {@code @Singleton} are singletons unless
+ * listed otherwise. {@link AutoCloseable} singletons are closed by {@link GeneratedInjector#close()}.</p>
+ *
+ * <p>Known differences to an {@code InjectMaid} built from the same configuration:</p>
+ * <ul>
+ *     <li>{@code InjectorConfiguration.apply()} is not evaluated. The graph has to be declared in {@link #value()},
+ *     {@link #singletons()} and {@link #eagerSingletons()}; custom types, bindings and factories are not supported.</li>
+ *     <li>Only the root scope is generated. Scopes, interceptors and overwriting are not supported.</li>
+ *     <li>Generic types, {@code Lazy}, {@code Provider} and {@code InjectMaid} cannot be injected.</li>
+ *     <li>Closeable prototypes are not closed.</li>
+ * </ul>
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateInjector {
+
+    Class<?>[] value();
+
+    Class<?>[] singletons() default {};
+
+    Class<?>[] eagerSingletons() default {};
+
+    String name() default "";
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.codegen;
+
+import de.quantummaid.injectmaid.api.Injector;
+import de.quantummaid.injectmaid.api.interception.SimpleInterceptor;
+import de.quantummaid.injectmaid.closing.Closer;
+import de.quantummaid.injectmaid.timing.TimedInstantiation;
+import de.quantummaid.reflectmaid.GenericType;
+import de.quantummaid.reflectmaid.ReflectMaid;
+import de.quantummaid.reflectmaid.resolvedtype.ResolvedType;
+import de.quantummaid.reflectmaid.typescanner.TypeIdentifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import static de.quantummaid.injectmaid.InjectMaidException.injectMaidException;
+import static de.quantummaid.injectmaid.lifecyclemanagement.ExceptionDuringClose.exceptionDuringClose;
+import static de.quantummaid.injectmaid.timing.InstanceAndTimedDependencies.instanceWithNoDependencies;
+import static de.quantummaid.injectmaid.timing.TimedInstantiation.timeInstantiation;
+import static de.quantummaid.reflectmaid.GenericType.genericType;
+import static de.quantummaid.reflectmaid.typescanner.TypeIdentifier.typeIdentifierFor;
+import static java.lang.String.format;
+
+public abstract class GeneratedInjector implements Injector {
+    private final Map<Class<?>, Supplier<?>> providers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Supplier<?>> singletons = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Supplier<?>> eagerSingletons = new ConcurrentHashMap<>();
+    private final Deque<AutoCloseable> closeables = new ConcurrentLinkedDeque<>();
+    protected final ReentrantLock singletonLock = new ReentrantLock();
+    private volatile ReflectMaid reflectMaid;
+    private volatile Map<TypeIdentifier, Supplier<?>> providersByTypeIdentifier;
+
+    protected final <T> void register(final Class<T> type, final Supplier<? extends T> provider) {
+        providers.put(type, provider);
+    }
+
+    protected final <T> void registerSingleton(final Class<T> type, final Supplier<? extends T> provider) {
+        register(type, provider);
+        singletons.put(type, provider);
+    }
+
+    protected final <T> void registerEagerSingleton(final Class<T> type, final Supplier<? extends T> provider) {
+        registerSingleton(type, provider);
+        eagerSingletons.put(type, provider);
+    }
+
+    protected final void registerForClosing(final AutoCloseable singleton) {
+        closeables.push(singleton);
+    }
+
+    protected final void loadEagerSingletons() {
+        eagerSingletons.values().forEach(Supplier::get);
+    }
+
+    @Override
+    public <T> T getInstance(final Class<T> type) {
+        final Supplier<?> provider = providers.get(type);
+        if (provider == null) {
+            throw injectMaidException(format("Cannot instantiate unregistered type '%s'", type.getName()));
+        }
+        return type.cast(provider.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T getInstance(final TypeIdentifier type) {
+        final Supplier<?> provider = providersByTypeIdentifier().get(type);
+        if (provider == null) {
+            throw injectMaidException(format("Cannot instantiate unregistered type '%s'", type.description()));
+        }
+        return (T) provider.get();
+    }
+
+    @Override
+    public <T> TimedInstantiation<T> getInstanceWithInitializationTime(final GenericType<T> type) {
+        final TypeIdentifier typeIdentifier = typeIdentifierFor(reflectMaid().resolve(type));
+        return timeInstantiation(typeIdentifier, () -> instanceWithNoDependencies(getInstance(typeIdentifier)));
+    }
+
+    @Override
+    public void initializeAllSingletons(final Duration enforcedMaxTime) {
+        final Instant before = Instant.now();
+        singletons.values().forEach(Supplier::get);
+        final Instant after = Instant.now();
+        final Duration duration = Duration.between(before, after);
+        if (enforcedMaxTime != null && enforcedMaxTime.compareTo(duration) < 0) {
+            throw injectMaidException("" +
+                    "initializing all singletons " +
+                    "must not take longer than " + enforcedMaxTime.toMillis() + "ms but took " + duration.toMillis() + "ms.");
+        }
+    }
+
+    @Override
+    public <T> Injector enterScopeWithTimeout(final GenericType<T> scopeType,
+                                              final T scopeObject,
+                                              final Duration enforcedMaxTime) {
+        throw scopesAreNotSupported();
+    }
+
+    @Override
+    public Injector enterScopeWithTimeout(final TypeIdentifier scopeType,
+                                          final Object scopeObject,
+                                          final Duration enforcedMaxTime) {
+        throw scopesAreNotSupported();
+    }
+
+    @Override
+    public <T> Optional<Injector> enterScopeIfExists(final GenericType<T> scopeType, final T scopeObject) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Injector> enterScopeIfExists(final ResolvedType resolvedType, final Object scopeObject) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void addInterceptor(final SimpleInterceptor interceptor) {
+        throw injectMaidException("generated injectors do not support interceptors");
+    }
+
+    @Override
+    public void overwriteWith(final Injector injector) {
+        throw injectMaidException("generated injectors cannot be overwritten");
+    }
+
+    @Override
+    public boolean canInstantiate(final Class<?> type) {
+        return providers.containsKey(type);
+    }
+
+    @Override
+    public boolean canInstantiate(final GenericType<?> type) {
+        return canInstantiate(typeIdentifierFor(reflectMaid().resolve(type)));
+    }
+
+    @Override
+    public boolean canInstantiate(final TypeIdentifier type) {
+        return providersByTypeIdentifier().containsKey(type);
+    }
+
+    /**
+     * Closes all {@link AutoCloseable} singletons that have been created, in reverse order of their creation.
+     * Prototypes are not tracked and therefore not closed.
+     */
+    @Override
+    public void close() {
+        Closer.close(exceptions -> {
+            for (AutoCloseable closeable = closeables.poll(); closeable != null; closeable = closeables.poll()) {
+                try {
+                    closeable.close();
+                } catch (final Exception e) {
+                    exceptions.add(exceptionDuringClose(e, closeable));
+                }
+            }
+        });
+    }
+
+    @Override
+    public ReflectMaid reflectMaid() {
+        ReflectMaid current = reflectMaid;
+        if (current == null) {
+            singletonLock.lock();
+            try {
+                current = reflectMaid;
+                if (current == null) {
+                    current = ReflectMaid.aReflectMaid();
+                    reflectMaid = current;
+                }
+            } finally {
+                singletonLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private Map<TypeIdentifier, Supplier<?>> providersByTypeIdentifier() {
+        Map<TypeIdentifier, Supplier<?>> current = providersByTypeIdentifier;
+        if (current == null) {
+            final ReflectMaid reflectMaid = reflectMaid();
+            current = new HashMap<>(providers.size());
+            for (final Map.Entry<Class<?>, Supplier<?>> entry : providers.entrySet()) {
+                final ResolvedType resolvedType = reflectMaid.resolve(genericType(entry.getKey()));
+                current.put(typeIdentifierFor(resolvedType), entry.getValue());
+            }
+            providersByTypeIdentifier = current;
+        }
+        return current;
+    }
+
+    private static RuntimeException scopesAreNotSupported() {
+        return injectMaidException("generated injectors do not support scopes");
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.codegen.processor;
+
+import java.util.List;
+
+final class Binding {
+    private final String typeName;
+    private final String simpleName;
+    private final String invocation;
+    private final String description;
+    private final List<String> dependencies;
+    private final Lifetime lifetime;
+    private final boolean closeable;
+
+    private Binding(final String typeName,
+                    final String simpleName,
+                    final String invocation,
+                    final String description,
+                    final List<String> dependencies,
+                    final Lifetime lifetime,
+                    final boolean closeable) {
+        this.typeName = typeName;
+        this.simpleName = simpleName;
+        this.invocation = invocation;
+        this.description = description;
+        this.dependencies = dependencies;
+        this.lifetime = lifetime;
+        this.closeable = closeable;
+    }
+
+    static Binding constructorBinding(final String typeName,
+                                      final String simpleName,
+                                      final List<String> dependencies,
+                                      final Lifetime lifetime,
+                                      final boolean closeable) {
+        final String description = String.format("constructor '%s(%s)'", typeName, String.join(", ", dependencies));
+        return new Binding(typeName, simpleName, "new " + typeName, description, dependencies, lifetime, closeable);
+    }
+
+    static Binding staticFactoryBinding(final String typeName,
+                                        final String simpleName,
+                                        final String methodName,
+                                        final List<String> dependencies,
+                                        final Lifetime lifetime,
+                                        final boolean closeable) {
+        final String invocation = typeName + "." + methodName;
+        final String description = String.format("static method '%s(%s)'", invocation, String.join(", ", dependencies));
+        return new Binding(typeName, simpleName, invocation, description, dependencies, lifetime, closeable);
+    }
+
+    String typeName() {
+        return typeName;
+    }
+
+    String simpleName() {
+        return simpleName;
+    }
+
+    String invocation() {
+        return invocation;
+    }
+
+    String description() {
+        return description;
+    }
+
+    List<String> dependencies() {
+        return dependencies;
+    }
+
+    Lifetime lifetime() {
+        return lifetime;
+    }
+
+    boolean closeable() {
+        return closeable;
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.codegen.processor;
+
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.*;
+
+import static de.quantummaid.injectmaid.codegen.processor.Binding.constructorBinding;
+import static de.quantummaid.injectmaid.codegen.processor.Binding.staticFactoryBinding;
+import static de.quantummaid.injectmaid.codegen.processor.CodegenException.codegenException;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+final class BindingResolver {
+    /**
+     * The annotations of {@code AnnotationDisambiguator.INJECT}.
+     */
+    private static final List<String> INJECT_ANNOTATIONS = List.of(
+            "javax.inject.Inject",
+            "com.google.inject.Inject",
+            "org.springframework.beans.factory.annotation.Autowired"
+    );
+    /**
+     * The annotations of {@code AnnotationSingletonDetector.SINGLETON}.
+     */
+    private static final List<String> SINGLETON_ANNOTATIONS = List.of(
+            "javax.inject.Singleton",
+            "com.google.inject.Singleton"
+    );
+
+    private final Types types;
+    private final Elements elements;
+    private final Element origin;
+    private final String targetPackage;
+    private final Map<String, Lifetime> lifetimes;
+    private final TypeMirror autoCloseableType;
+    private final Map<String, Binding> bindings = new LinkedHashMap<>();
+    private final Deque<TypeElement> path = new ArrayDeque<>();
+
+    private BindingResolver(final Types types,
+                            final Elements elements,
+                            final Element origin,
+                            final String targetPackage,
+                            final Map<String, Lifetime> lifetimes) {
+        this.types = types;
+        this.elements = elements;
+        this.origin = origin;
+        this.targetPackage = targetPackage;
+        this.lifetimes = lifetimes;
+        this.autoCloseableType = elements.getTypeElement(AutoCloseable.class.getName()).asType();
+    }
+
+    static List<Binding> resolveBindings(final Types types,
+                                         final Elements elements,
+                                         final Element origin,
+                                         final String targetPackage,
+                                         final List<TypeMirror> registeredTypes,
+                                         final Map<String, Lifetime> lifetimes) {
+        final BindingResolver resolver = new BindingResolver(types, elements, origin, targetPackage, lifetimes);
+        registeredTypes.forEach(resolver::resolve);
+        lifetimes.keySet().forEach(typeName -> resolver.resolve(elements.getTypeElement(typeName).asType()));
+        return new ArrayList<>(resolver.bindings.values());
+    }
+
+    private String resolve(final TypeMirror type) {
+        final TypeElement typeElement = typeElementOf(type);
+        final String typeName = typeElement.getQualifiedName().toString();
+        if (path.contains(typeElement)) {
+            final String cycle = path.stream()
+                    .dropWhile(element -> !element.equals(typeElement))
+                    .map(element -> element.getSimpleName().toString())
+                    .collect(joining(" -> "));
+            throw codegenException(format("Illegal circular dependency detected: %s -> %s",
+                    cycle, typeElement.getSimpleName()), origin);
+        }
+        if (bindings.containsKey(typeName)) {
+            return typeName;
+        }
+        path.addLast(typeElement);
+        final Binding binding = bindingFor(typeElement, typeName);
+        path.removeLast();
+        bindings.put(typeName, binding);
+        return typeName;
+    }
+
+    private TypeElement typeElementOf(final TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            throw codegenException(format("Cannot inject '%s': only declared types are supported", type), origin);
+        }
+        final DeclaredType declaredType = (DeclaredType) type;
+        if (!declaredType.getTypeArguments().isEmpty()) {
+            throw codegenException(format("Cannot inject '%s': generic types are not supported", type), origin);
+        }
+        final TypeElement typeElement = (TypeElement) declaredType.asElement();
+        if (typeElement.getNestingKind() == NestingKind.MEMBER
+                && !typeElement.getModifiers().contains(Modifier.STATIC)
+                && typeElement.getKind() == ElementKind.CLASS) {
+            throw codegenException(format("Cannot inject '%s': inner classes are not supported", type), origin);
+        }
+        if (!isAccessible(typeElement)) {
+            throw codegenException(format("Cannot inject '%s': type is not accessible from package '%s'",
+                    type, targetPackage), origin);
+        }
+        return typeElement;
+    }
+
+    private Binding bindingFor(final TypeElement typeElement, final String typeName) {
+        final String simpleName = typeElement.getSimpleName().toString();
+        final Lifetime lifetime = lifetimeOf(typeElement, typeName);
+        final boolean closeable = types.isAssignable(typeElement.asType(), autoCloseableType);
+        final List<ExecutableElement> constructors;
+        if (typeElement.getKind() == ElementKind.CLASS && !typeElement.getModifiers().contains(Modifier.ABSTRACT)) {
+            constructors = ElementFilter.constructorsIn(typeElement.getEnclosedElements()).stream()
+                    .filter(BindingResolver::isPublic)
+                    .collect(toList());
+        } else {
+            constructors = List.of();
+        }
+        final List<ExecutableElement> factories = ElementFilter.methodsIn(typeElement.getEnclosedElements()).stream()
+                .filter(method -> method.getModifiers().contains(Modifier.STATIC))
+                .filter(BindingResolver::isPublic)
+                .filter(method -> types.isSameType(method.getReturnType(), typeElement.asType()))
+                .collect(toList());
+        final ExecutableElement chosen = disambiguate(typeName, constructors, factories);
+        final List<String> dependencies = resolveParameters(chosen);
+        if (chosen.getKind() == ElementKind.CONSTRUCTOR) {
+            return constructorBinding(typeName, simpleName, dependencies, lifetime, closeable);
+        }
+        return staticFactoryBinding(typeName, simpleName, chosen.getSimpleName().toString(),
+                dependencies, lifetime, closeable);
+    }
+
+    /**
+     * Mirrors the disambiguators of {@code Detectors}: a single candidate, the single candidate annotated
+     * for injection, the single public constructor, or the single static factory if there is no public constructor.
+     */
+    private ExecutableElement disambiguate(final String typeName,
+                                           final List<ExecutableElement> constructors,
+                                           final List<ExecutableElement> factories) {
+        final List<ExecutableElement> candidates = new ArrayList<>(constructors);
+        candidates.addAll(factories);
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        final List<ExecutableElement> annotated = candidates.stream()
+                .filter(candidate -> isAnnotatedWithAnyOf(candidate, INJECT_ANNOTATIONS))
+                .collect(toList());
+        if (annotated.size() == 1) {
+            return annotated.get(0);
+        }
+        if (annotated.size() > 1) {
+            throw cannotDecide(typeName, format("More than one constructor or factory method has been " +
+                    "annotated for injection (considered are %s)", String.join(", ", INJECT_ANNOTATIONS)));
+        }
+        if (constructors.size() == 1) {
+            return constructors.get(0);
+        }
+        if (constructors.isEmpty() && factories.size() == 1) {
+            return factories.get(0);
+        }
+        final String reason;
+        if (candidates.isEmpty()) {
+            reason = "No public constructors or static factory methods found";
+        } else if (constructors.size() > 1) {
+            reason = "More than one public constructors found";
+        } else {
+            reason = "More than one public constructors or factory methods found";
+        }
+        throw cannotDecide(typeName, reason);
+    }
+
+    private CodegenException cannotDecide(final String typeName, final String reason) {
+        return codegenException(format("Cannot decide how to instantiate type '%s': %s", typeName, reason), origin);
+    }
+
+    private Lifetime lifetimeOf(final TypeElement typeElement, final String typeName) {
+        final Lifetime configuredLifetime = lifetimes.get(typeName);
+        if (configuredLifetime != null) {
+            return configuredLifetime;
+        }
+        if (isAnnotatedWithAnyOf(typeElement, SINGLETON_ANNOTATIONS)) {
+            return Lifetime.SINGLETON;
+        }
+        return Lifetime.PROTOTYPE;
+    }
+
+    private static boolean isAnnotatedWithAnyOf(final Element element, final List<String> annotationNames) {
+        return element.getAnnotationMirrors().stream()
+                .map(mirror -> ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString())
+                .anyMatch(annotationNames::contains);
+    }
+
+    private List<String> resolveParameters(final ExecutableElement executable) {
+        return executable.getParameters().stream()
+                .map(VariableElement::asType)
+                .map(this::resolve)
+                .collect(toList());
+    }
+
+    private boolean isAccessible(final TypeElement typeElement) {
+        if (typeElement.getModifiers().contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        final boolean inTargetPackage = elements.getPackageOf(typeElement).getQualifiedName().contentEquals(targetPackage);
+        if (!typeElement.getModifiers().contains(Modifier.PUBLIC) && !inTargetPackage) {
+            return false;
+        }
+        final Element enclosing = typeElement.getEnclosingElement();
+        if (enclosing.getKind().isClass() || enclosing.getKind().isInterface()) {
+            return isAccessible((TypeElement) enclosing);
+        }
+        return true;
+    }
+
+    private static boolean isPublic(final Element member) {
+        return member.getModifiers().contains(Modifier.PUBLIC);
+    }
+}
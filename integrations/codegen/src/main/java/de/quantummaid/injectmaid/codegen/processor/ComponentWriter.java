@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.codegen.processor;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+final class ComponentWriter {
+    private static final String BASE_CLASS = "de.quantummaid.injectmaid.codegen.GeneratedInjector";
+    private static final String EXCEPTION = "de.quantummaid.injectmaid.InjectMaidException";
+    private static final String FACTORY_METHOD_PREFIX = "create";
+
+    private final StringBuilder source = new StringBuilder();
+    private final Map<String, String> methodNames = new HashMap<>();
+
+    private ComponentWriter(final List<Binding> bindings) {
+        final Set<String> usedNames = new HashSet<>();
+        for (final Binding binding : bindings) {
+            final String baseName = FACTORY_METHOD_PREFIX + binding.simpleName();
+            String name = baseName;
+            int suffix = 2;
+            while (!usedNames.add(name)) {
+                name = baseName + suffix;
+                ++suffix;
+            }
+            methodNames.put(binding.typeName(), name);
+        }
+    }
+
+    static String writeComponent(final String packageName,
+                                 final String className,
+                                 final List<Binding> bindings) {
+        final ComponentWriter writer = new ComponentWriter(bindings);
+        writer.writeHeader(packageName, className);
+        writer.writeConstructor(className, bindings);
+        bindings.forEach(writer::writeFactoryMethod);
+        writer.line("}");
+        return writer.source.toString();
+    }
+
+    private void writeHeader(final String packageName,
+                             final String className) {
+        if (!packageName.isEmpty()) {
+            line("package %s;", packageName);
+            line("");
+        }
+        line("@javax.annotation.processing.Generated(\"%s\")", InjectorProcessor.class.getName());
+        line("public final class %s extends %s {", className, BASE_CLASS);
+    }
+
+    private void writeConstructor(final String className, final List<Binding> bindings) {
+        for (final Binding binding : bindings) {
+            if (binding.lifetime() != Lifetime.PROTOTYPE) {
+                line("    private volatile %s %s;", binding.typeName(), fieldName(binding));
+            }
+        }
+        line("");
+        line("    public %s() {", className);
+        for (final Binding binding : bindings) {
+            final String registration;
+            switch (binding.lifetime()) {
+                case SINGLETON:
+                    registration = "registerSingleton";
+                    break;
+                case EAGER_SINGLETON:
+                    registration = "registerEagerSingleton";
+                    break;
+                default:
+                    registration = "register";
+                    break;
+            }
+            line("        %s(%s.class, this::%s);", registration, binding.typeName(), methodNames.get(binding.typeName()));
+        }
+        line("        loadEagerSingletons();");
+        line("    }");
+    }
+
+    private void writeFactoryMethod(final Binding binding) {
+        final String typeName = binding.typeName();
+        line("");
+        line("    public %s %s() {", typeName, methodNames.get(typeName));
+        if (binding.lifetime() == Lifetime.PROTOTYPE) {
+            writeInstantiation(binding, "        ", "return ");
+        } else {
+            final String field = fieldName(binding);
+            line("        %s instance = %s;", typeName, field);
+            line("        if (instance == null) {");
+            line("            singletonLock.lock();");
+            line("            try {");
+            line("                instance = %s;", field);
+            line("                if (instance == null) {");
+            writeInstantiation(binding, "                    ", "instance = ");
+            line("                    %s = instance;", field);
+            if (binding.closeable()) {
+                line("                    registerForClosing(instance);");
+            }
+            line("                }");
+            line("            } finally {");
+            line("                singletonLock.unlock();");
+            line("            }");
+            line("        }");
+            line("        return instance;");
+        }
+        line("    }");
+    }
+
+    private void writeInstantiation(final Binding binding, final String indentation, final String assignment) {
+        final List<String> dependencies = binding.dependencies();
+        final StringBuilder arguments = new StringBuilder();
+        for (int i = 0; i < dependencies.size(); ++i) {
+            final String dependency = dependencies.get(i);
+            line("%sfinal %s dependency%d = %s();", indentation, dependency, i, methodNames.get(dependency));
+            if (i > 0) {
+                arguments.append(", ");
+            }
+            arguments.append("dependency").append(i);
+        }
+        line("%stry {", indentation);
+        line("%s    %s%s(%s);", indentation, assignment, binding.invocation(), arguments);
+        line("%s} catch (final Exception e) {", indentation);
+        line("%s    throw %s.injectMaidException(\"Exception during instantiation of '%s' using %s\", e);",
+                indentation, EXCEPTION, binding.simpleName(), binding.description());
+        line("%s}", indentation);
+    }
+
+    private String fieldName(final Binding binding) {
+        final String name = methodNames.get(binding.typeName()).substring(FACTORY_METHOD_PREFIX.length());
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1) + "Instance";
+    }
+
+    private void line(final String format, final Object... arguments) {
+        source.append(format(format, arguments)).append('\n');
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.codegen.processor;
+
+import de.quantummaid.injectmaid.codegen.GenerateInjector;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+import static de.quantummaid.injectmaid.codegen.processor.BindingResolver.resolveBindings;
+import static de.quantummaid.injectmaid.codegen.processor.CodegenException.codegenException;
+import static de.quantummaid.injectmaid.codegen.processor.ComponentWriter.writeComponent;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+@SupportedAnnotationTypes("de.quantummaid.injectmaid.codegen.GenerateInjector")
+public final class InjectorProcessor extends AbstractProcessor {
+    private static final String CONFIGURATION_TYPE = "de.quantummaid.injectmaid.api.InjectorConfiguration";
+    private static final String INJECTOR_SUFFIX = "Injector";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations,
+                           final RoundEnvironment roundEnvironment) {
+        for (final Element element : roundEnvironment.getElementsAnnotatedWith(GenerateInjector.class)) {
+            try {
+                generateInjector((TypeElement) element);
+            } catch (final CodegenException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.element());
+            }
+        }
+        return true;
+    }
+
+    private void generateInjector(final TypeElement configuration) {
+        final Types types = processingEnv.getTypeUtils();
+        final Elements elements = processingEnv.getElementUtils();
+        final TypeElement configurationType = elements.getTypeElement(CONFIGURATION_TYPE);
+        if (configurationType == null || !types.isAssignable(configuration.asType(), configurationType.asType())) {
+            throw codegenException(format("@%s can only be placed on implementations of %s",
+                    GenerateInjector.class.getSimpleName(), CONFIGURATION_TYPE), configuration);
+        }
+        final AnnotationMirror annotation = annotationMirror(configuration);
+        final Map<String, Object> values = new HashMap<>();
+        elements.getElementValuesWithDefaults(annotation)
+                .forEach((method, value) -> values.put(method.getSimpleName().toString(), value.getValue()));
+
+        final Map<String, Lifetime> lifetimes = new LinkedHashMap<>();
+        typesOf(values.get("singletons")).forEach(type -> lifetimes.put(type.toString(), Lifetime.SINGLETON));
+        typesOf(values.get("eagerSingletons")).forEach(type -> lifetimes.put(type.toString(), Lifetime.EAGER_SINGLETON));
+
+        final String packageName = elements.getPackageOf(configuration).getQualifiedName().toString();
+        final String name = (String) values.get("name");
+        final String className;
+        if (name.isEmpty()) {
+            className = configuration.getSimpleName() + INJECTOR_SUFFIX;
+        } else {
+            className = name;
+        }
+        final List<Binding> bindings = resolveBindings(
+                types, elements, configuration, packageName, typesOf(values.get("value")), lifetimes);
+        final String source = writeComponent(packageName, className, bindings);
+        write(packageName, className, source, configuration);
+    }
+
+    private AnnotationMirror annotationMirror(final TypeElement configuration) {
+        final String annotationName = GenerateInjector.class.getCanonicalName();
+        return configuration.getAnnotationMirrors().stream()
+                .filter(mirror -> ((TypeElement) mirror.getAnnotationType().asElement())
+                        .getQualifiedName().contentEquals(annotationName))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<TypeMirror> typesOf(final Object annotationValue) {
+        return ((List<? extends AnnotationValue>) annotationValue).stream()
+                .map(value -> (TypeMirror) value.getValue())
+                .collect(toList());
+    }
+
+    private void write(final String packageName,
+                       final String className,
+                       final String source,
+                       final TypeElement configuration) {
+        final String qualifiedName;
+        if (packageName.isEmpty()) {
+            qualifiedName = className;
+        } else {
+            qualifiedName = packageName + "." + className;
+        }
+        try {
+            final JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, configuration);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+        } catch (final IOException e) {
+            throw codegenException(format("Unable to write generated injector '%s': %s", qualifiedName, e.getMessage()),
+                    configuration);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2020 Richard Hauswald - https://quantummaid.de/.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package de.quantummaid.injectmaid.codegen;
+
+import de.quantummaid.injectmaid.api.Injector;
+import de.quantummaid.injectmaid.codegen.processor.InjectorProcessor;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.*;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public final class InjectorProcessorSpecs {
+    private static final String CONFIGURATION = "" +
+            "package example;\n" +
+            "@de.quantummaid.injectmaid.codegen.GenerateInjector(value = Service.class, singletons = Database.class)\n" +
+            "public final class Configuration implements de.quantummaid.injectmaid.api.InjectorConfiguration {\n" +
+            "    public void apply(final de.quantummaid.injectmaid.InjectMaidBuilder builder) {\n" +
+            "    }\n" +
+            "}\n";
+    private static final String CONFIGURATION_WITHOUT_SINGLETONS = "" +
+            "package example;\n" +
+            "@de.quantummaid.injectmaid.codegen.GenerateInjector(Service.class)\n" +
+            "public final class Configuration implements de.quantummaid.injectmaid.api.InjectorConfiguration {\n" +
+            "    public void apply(final de.quantummaid.injectmaid.InjectMaidBuilder builder) {\n" +
+            "    }\n" +
+            "}\n";
+    private static final String DATABASE = "" +
+            "package example;\n" +
+            "public final class Database {\n" +
+            "    private Database() {\n" +
+            "    }\n" +
+            "    public static Database database() {\n" +
+            "        return new Database();\n" +
+            "    }\n" +
+            "}\n";
+
+    @Test
+    public void generatedInjectorInstantiatesTheConfiguredGraph() throws Exception {
+        final Compilation compilation = compile(CONFIGURATION, DATABASE, "" +
+                "package example;\n" +
+                "public final class Service {\n" +
+                "    public final Database database;\n" +
+                "    public Service(final Database database) {\n" +
+                "        this.database = database;\n" +
+                "    }\n" +
+                "}\n");
+        assertThat(compilation.errors(), is(""));
+
+        final Injector injector = compilation.newInjector("example.ConfigurationInjector");
+        final Class<?> serviceType = compilation.loadClass("example.Service");
+        final Object first = injector.getInstance(serviceType);
+        final Object second = injector.getInstance(serviceType);
+
+        assertThat(first, not(sameInstance(second)));
+        assertThat(serviceType.getField("database").get(first), sameInstance(serviceType.getField("database").get(second)));
+        assertThat(injector.canInstantiate(compilation.loadClass("example.Database")), is(true));
+    }
+
+    @Test
+    public void circularDependenciesAreReportedAtCompileTime() throws Exception {
+        final Compilation compilation = compile(CONFIGURATION, "" +
+                "package example;\n" +
+                "public final class Database {\n" +
+                "    public Database(final Service service) {\n" +
+                "    }\n" +
+                "}\n", "" +
+                "package example;\n" +
+                "public final class Service {\n" +
+                "    public Service(final Database database) {\n" +
+                "    }\n" +
+                "}\n");
+        assertThat(compilation.errors(), containsString("Illegal circular dependency detected: Service -> Database -> Service"));
+    }
+
+    @Test
+    public void typesWithAmbiguousInstantiationAreReportedAtCompileTime() throws Exception {
+        final Compilation compilation = compile(CONFIGURATION, DATABASE, "" +
+                "package example;\n" +
+                "public final class Service {\n" +
+                "    public Service() {\n" +
+                "    }\n" +
+                "    public Service(final Database database) {\n" +
+                "    }\n" +
+                "}\n");
+        assertThat(compilation.errors(), containsString("Cannot decide how to instantiate type 'example.Service': " +
+                "More than one public constructors found"));
+    }
+
+    @Test
+    public void constructorsAnnotatedForInjectionAreChosen() throws Exception {
+        final Compilation compilation = compile(CONFIGURATION, DATABASE, "" +
+                "package example;\n" +
+                "public final class Service {\n" +
+                "    public final Database database;\n" +
+                "    public Service() {\n" +
+                "        this.database = null;\n" +
+                "    }\n" +
+                "    @javax.inject.Inject\n" +
+                "    public Service(final Database database) {\n" +
+                "        this.database = database;\n" +
+                "    }\n" +
+                "}\n");
+        assertThat(compilation.errors(), is(""));
+
+        final Injector injector = compilation.newInjector("example.ConfigurationInjector");
+        final Class<?> serviceType = compilation.loadClass("example.Service");
+        final Object service = injector.getInstance(serviceType);
+        assertThat(serviceType.getField("database").get(service), notNullValue());
+    }
+
+    @Test
+    public void typesAnnotatedAsSingletonAreSingletons() throws Exception {
+        final Compilation compilation = compile(CONFIGURATION_WITHOUT_SINGLETONS, "" +
+                "package example;\n" +
+                "@javax.inject.Singleton\n" +
+                "public final class Service {\n" +
+                "    public Service() {\n" +
+                "    }\n" +
+                "}\n");
+        assertThat(compilation.errors(), is(""));
+
+        final Injector injector = compilation.newInjector("example.ConfigurationInjector");
+        final Class<?> serviceType = compilation.loadClass("example.Service");
+        assertThat(injector.getInstance(serviceType), sameInstance(injector.getInstance(serviceType)));
+    }
+
+    @Test
+    public void packagePrivateConstructorsAreNotUsedForInstantiation() throws Exception {
+        final Compilation compilation = compile(CONFIGURATION_WITHOUT_SINGLETONS, "" +
+                "package example;\n" +
+                "public final class Service {\n" +
+                "    Service() {\n" +
+                "    }\n" +
+                "}\n");
+        assertThat(compilation.errors(), containsString("Cannot decide how to instantiate type 'example.Service': " +
+                "No public constructors or static factory methods found"));
+    }
+
+    @Test
+    public void autoCloseableSingletonsAreClosedWithTheInjector() throws Exception {
+        final Compilation compilation = compile(CONFIGURATION, "" +
+                "package example;\n" +
+                "public final class Database implements AutoCloseable {\n" +
+                "    public boolean closed;\n" +
+                "    public Database() {\n" +
+                "    }\n" +
+                "    public void close() {\n" +
+                "        closed = true;\n" +
+                "    }\n" +
+                "}\n", "" +
+                "package example;\n" +
+                "public final class Service {\n" +
+                "    public final Database database;\n" +
+                "    public Service(final Database database) {\n" +
+                "        this.database = database;\n" +
+                "    }\n" +
+                "}\n");
+        assertThat(compilation.errors(), is(""));
+
+        final Injector injector = compilation.newInjector("example.ConfigurationInjector");
+        final Class<?> serviceType = compilation.loadClass("example.Service");
+        final Object database = serviceType.getField("database").get(injector.getInstance(serviceType));
+        injector.close();
+        assertThat(database.getClass().getField("closed").get(database), is(true));
+    }
+
+    private static Compilation compile(final String... sources) throws IOException {
+        final Path output = Files.createTempDirectory("injectmaid-codegen");
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        final List<JavaFileObject> compilationUnits = List.of(sources).stream()
+                .map(SourceFile::new)
+                .collect(Collectors.toList());
+        final List<String> options = List.of(
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", output.toString(),
+                "-s", output.toString()
+        );
+        final JavaCompiler.CompilationTask task = compiler.getTask(
+                null, null, diagnostics, options, null, compilationUnits);
+        task.setProcessors(List.of(new InjectorProcessor()));
+        task.call();
+        final String errors = diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(null))
+                .collect(Collectors.joining("\n"));
+        return new Compilation(output, errors);
+    }
+
+    private static final class SourceFile extends SimpleJavaFileObject {
+        private final String source;
+
+        SourceFile(final String source) {
+            super(URI.create("string:///" + className(source).replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        private static String className(final String source) {
+            final String packageName = source.substring("package ".length(), source.indexOf(';'));
+            final String afterClass = source.substring(source.indexOf("class ") + "class ".length());
+            return packageName + "." + afterClass.substring(0, afterClass.indexOf(' '));
+        }
+
+        @Override
+        public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    private static final class Compilation {
+        private final String errors;
+        private final ClassLoader classLoader;
+
+        Compilation(final Path output, final String errors) throws IOException {
+            this.errors = errors;
+            this.classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()},
+                    InjectorProcessorSpecs.class.getClassLoader());
+        }
+
+        String errors() {
+            return errors;
+        }
+
+        Class<?> loadClass(final String name) throws ClassNotFoundException {
+            return classLoader.loadClass(name);
+        }
+
+        Injector newInjector(final String name) throws ReflectiveOperationException {
+            return (Injector) loadClass(name).getConstructor().newInstance();
+        }
+    }
+}